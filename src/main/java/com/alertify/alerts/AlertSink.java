@@ -0,0 +1,14 @@
+package com.alertify.alerts;
+
+import com.alertify.dto.TaskAlert;
+
+import java.util.List;
+
+/**
+ * Destination for due-date alerts. Called with one batch at a time inside the scan transaction:
+ * throwing rolls the batch back and it is retried on the next tick, so delivery is at-least-once
+ * and implementations should de-duplicate on {@link TaskAlert#alertKey()}.
+ */
+public interface AlertSink {
+    void dispatch(List<TaskAlert> alerts);
+}
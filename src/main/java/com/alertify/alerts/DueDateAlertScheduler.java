@@ -0,0 +1,215 @@
+package com.alertify.alerts;
+
+import com.alertify.dto.TaskAlert;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.AlertType;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.AlertCheckpoint;
+import com.alertify.model.AlertLateArrival;
+import com.alertify.repository.AlertCheckpointRepository;
+import com.alertify.repository.AlertLateArrivalRepository;
+import com.alertify.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Emits DUE_SOON and OVERDUE alerts without rescanning the tasks table. Each alert type keeps a
+ * persisted keyset checkpoint over open tasks in (dueDate, id) order; a tick only reads the rows
+ * between that checkpoint and the type's due-date horizon, in bounded batches. The checkpoint row is
+ * locked and advanced in the same transaction as each dispatched batch, so progress survives
+ * restarts and concurrent nodes never dispatch the same batch.
+ * <p>
+ * Tasks created or rescheduled into a range the scan has already passed are reported through
+ * {@link TaskDueDateChangedEvent}, recorded as {@link AlertLateArrival} rows in the same transaction as the
+ * task write, and dispatched and deleted together on the next tick.
+ */
+@Slf4j
+@Component
+public class DueDateAlertScheduler {
+
+    // Sentinel id meaning "past every task of lastDueDate"
+    private static final long END_OF_DAY = Long.MAX_VALUE;
+
+    private final TaskRepository taskRepository;
+    private final AlertCheckpointRepository checkpointRepository;
+    private final AlertLateArrivalRepository lateArrivalRepository;
+    private final AlertSink alertSink;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final boolean enabled;
+    private final int leadDays;
+    private final int overdueLookbackDays;
+    private final int batchSize;
+    private final int maxBatchesPerTick;
+
+    public DueDateAlertScheduler(TaskRepository taskRepository,
+                                 AlertCheckpointRepository checkpointRepository,
+                                 AlertLateArrivalRepository lateArrivalRepository,
+                                 AlertSink alertSink,
+                                 PlatformTransactionManager transactionManager,
+                                 Clock clock,
+                                 @Value("${alertify.alerts.enabled:true}") boolean enabled,
+                                 @Value("${alertify.alerts.lead-days:1}") int leadDays,
+                                 @Value("${alertify.alerts.overdue-lookback-days:7}") int overdueLookbackDays,
+                                 @Value("${alertify.alerts.batch-size:500}") int batchSize,
+                                 @Value("${alertify.alerts.max-batches-per-tick:20}") int maxBatchesPerTick) {
+        this.taskRepository = taskRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.lateArrivalRepository = lateArrivalRepository;
+        this.alertSink = alertSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.leadDays = leadDays;
+        this.overdueLookbackDays = overdueLookbackDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerTick = maxBatchesPerTick;
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.alerts.tick-interval:PT1M}")
+    public void scheduledTick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int dispatched = tick();
+            if (dispatched > 0) {
+                log.info("Dispatched {} due-date alerts", dispatched);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Another node created the alert checkpoint first, retrying next tick", e);
+        }
+    }
+
+    /**
+     * Runs one scan for both alert types and returns the number of alerts dispatched.
+     */
+    public int tick() {
+        LocalDate today = LocalDate.now(clock);
+        int dispatched = dispatchLateArrivals(today);
+        dispatched += scan(AlertType.DUE_SOON, today.plusDays(leadDays), today.minusDays(1));
+        dispatched += scan(AlertType.OVERDUE, today.minusDays(1), today.minusDays(overdueLookbackDays + 1L));
+        return dispatched;
+    }
+
+    // Runs inside the task write's transaction, so the row commits or rolls back with the write
+    @EventListener
+    public void onTaskDueDateChanged(TaskDueDateChangedEvent event) {
+        LocalDate dueDate = event.getDueDate();
+        if (dueDate == null || dueDate.isAfter(LocalDate.now(clock).plusDays(leadDays))) {
+            return; // the regular scan will reach it
+        }
+        lateArrivalRepository.save(new AlertLateArrival(null, event.getTaskId(), Instant.now(clock)));
+    }
+
+    private int scan(AlertType type, LocalDate upTo, LocalDate initialDueDate) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerTick; i++) {
+            Integer dispatched = transactionTemplate.execute(status -> {
+                AlertCheckpoint checkpoint = lockCheckpoint(type, initialDueDate);
+                List<TaskDTO> tasks = taskRepository.findOpenDueAfter(upTo, checkpoint.getLastDueDate(),
+                        checkpoint.getLastTaskId(), Limit.of(batchSize));
+                if (tasks.isEmpty()) {
+                    return 0;
+                }
+                alertSink.dispatch(tasks.stream().map(task -> TaskAlert.of(type, task)).toList());
+
+                TaskDTO last = tasks.get(tasks.size() - 1);
+                checkpoint.setLastDueDate(last.dueDate());
+                checkpoint.setLastTaskId(last.id());
+                checkpoint.setUpdatedAt(Instant.now(clock));
+                return tasks.size();
+            });
+            total += dispatched;
+            if (dispatched < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Tasks written behind a checkpoint would never be reached by the scan, so alert them directly
+    private int dispatchLateArrivals(LocalDate today) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerTick; i++) {
+            int[] readAndDispatched = transactionTemplate.execute(status -> dispatchLateArrivalBatch(today));
+            total += readAndDispatched[1];
+            if (readAndDispatched[0] < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // The rows are deleted in the dispatching transaction: if it fails, they are retried on the next tick
+    private int[] dispatchLateArrivalBatch(LocalDate today) {
+        List<AlertLateArrival> arrivals = lateArrivalRepository.findBatchForUpdate(Limit.of(batchSize));
+        if (arrivals.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        List<Long> taskIds = arrivals.stream().map(AlertLateArrival::getTaskId).distinct().toList();
+
+        List<TaskDTO> overdue = new ArrayList<>();
+        List<TaskDTO> dueSoon = new ArrayList<>();
+        for (TaskDTO task : taskRepository.findDTOsByIds(taskIds)) {
+            if (task.dueDate() == null || task.status() == TaskStatus.COMPLETED) {
+                continue;
+            }
+            if (task.dueDate().isBefore(today)) {
+                overdue.add(task);
+            } else if (!task.dueDate().isAfter(today.plusDays(leadDays))) {
+                dueSoon.add(task);
+            }
+        }
+        int dispatched = dispatchBehindCheckpoint(AlertType.OVERDUE, overdue)
+                + dispatchBehindCheckpoint(AlertType.DUE_SOON, dueSoon);
+        lateArrivalRepository.deleteAllInBatch(arrivals);
+        return new int[]{arrivals.size(), dispatched};
+    }
+
+    private int dispatchBehindCheckpoint(AlertType type, List<TaskDTO> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        // Without a checkpoint the scan has not started yet and will pick these tasks up itself
+        AlertCheckpoint checkpoint = checkpointRepository.findForUpdate(type).orElse(null);
+        if (checkpoint == null) {
+            return 0;
+        }
+        List<TaskAlert> alerts = tasks.stream()
+                .filter(task -> isAtOrBefore(task, checkpoint))
+                .sorted(Comparator.comparing(TaskDTO::dueDate).thenComparing(TaskDTO::id))
+                .map(task -> TaskAlert.of(type, task))
+                .toList();
+        if (!alerts.isEmpty()) {
+            alertSink.dispatch(alerts);
+        }
+        return alerts.size();
+    }
+
+    private AlertCheckpoint lockCheckpoint(AlertType type, LocalDate initialDueDate) {
+        return checkpointRepository.findForUpdate(type)
+                .orElseGet(() -> checkpointRepository.saveAndFlush(
+                        new AlertCheckpoint(type, initialDueDate, END_OF_DAY, Instant.now(clock))));
+    }
+
+    private static boolean isAtOrBefore(TaskDTO task, AlertCheckpoint checkpoint) {
+        int byDate = task.dueDate().compareTo(checkpoint.getLastDueDate());
+        return byDate < 0 || (byDate == 0 && task.id() <= checkpoint.getLastTaskId());
+    }
+}
@@ -0,0 +1,27 @@
+package com.alertify.alerts;
+
+import com.alertify.dto.TaskAlert;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects dispatched alerts in memory; intended for tests.
+ */
+public class InMemoryAlertSink implements AlertSink {
+
+    private final List<TaskAlert> alerts = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void dispatch(List<TaskAlert> batch) {
+        alerts.addAll(batch);
+    }
+
+    public List<TaskAlert> getAlerts() {
+        return List.copyOf(alerts);
+    }
+
+    public void clear() {
+        alerts.clear();
+    }
+}
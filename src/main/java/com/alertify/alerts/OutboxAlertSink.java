@@ -0,0 +1,22 @@
+package com.alertify.alerts;
+
+import com.alertify.changes.TaskChangeRecorder;
+import com.alertify.dto.TaskAlert;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Default sink: writes alerts to the task outbox in the scan transaction, so a batch and its
+ * checkpoint advance commit together and the alerts reach {@link UserAlertBroadcaster} on every node.
+ */
+@RequiredArgsConstructor
+public class OutboxAlertSink implements AlertSink {
+
+    private final TaskChangeRecorder changeRecorder;
+
+    @Override
+    public void dispatch(List<TaskAlert> alerts) {
+        changeRecorder.recordAlerts(alerts);
+    }
+}
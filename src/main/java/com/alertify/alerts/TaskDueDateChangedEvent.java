@@ -0,0 +1,16 @@
+package com.alertify.alerts;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published by task writes that set or move a due date.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskDueDateChangedEvent {
+    private Long taskId;
+    private LocalDate dueDate;
+}
@@ -0,0 +1,145 @@
+package com.alertify.alerts;
+
+import com.alertify.changes.TaskChangeListener;
+import com.alertify.dto.TaskAlert;
+import com.alertify.dto.TaskChangeEvent;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.AlertType;
+import com.alertify.exceptions.TooManyRequestsException;
+import com.alertify.sse.SseConnection;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes assignment and due-date alerts to each user's open SSE streams. Fan-out only enqueues on
+ * the user's connections, each behind a small queue that coalesces alerts per task and type and drops
+ * the oldest entry when a slow client falls behind; writes happen on virtual threads.
+ */
+@Slf4j
+@Component
+public class UserAlertBroadcaster implements TaskChangeListener {
+
+    static final String EVENT_NAME = "alert";
+
+    private final Map<Long, Set<SseConnection<TaskAlert>>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final Duration heartbeatInterval;
+    private final int maxConnections;
+
+    public UserAlertBroadcaster(@Value("${alertify.alerts.stream.queue-capacity:64}") int queueCapacity,
+                                @Value("${alertify.alerts.stream.timeout:PT1H}") Duration timeout,
+                                @Value("${alertify.alerts.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                                @Value("${alertify.alerts.stream.max-connections:20000}") int maxConnections) {
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxConnections = maxConnections;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new TooManyRequestsException("Alert stream capacity reached, retry later");
+        }
+        SseConnection<TaskAlert> connection = new SseConnection<>(emitter, queueCapacity,
+                SseConnection.OverflowPolicy.DROP_OLDEST, UserAlertBroadcaster::coalesceKey,
+                alert -> SseEmitter.event().name(EVENT_NAME).data(alert), executor);
+        connections.compute(userId, (id, userConnections) -> {
+            Set<SseConnection<TaskAlert>> set = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+            set.add(connection);
+            return set;
+        });
+        connection.onClose(() -> remove(userId, connection));
+        return connection.getEmitter();
+    }
+
+    /**
+     * Enqueues an alert on every open stream of its user; never blocks.
+     */
+    public void publish(TaskAlert alert) {
+        Set<SseConnection<TaskAlert>> userConnections = connections.get(alert.userId());
+        if (userConnections != null) {
+            userConnections.forEach(connection -> connection.offer(alert));
+        }
+    }
+
+    @Override
+    public void onChanges(List<TaskChangeEvent> events) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        for (TaskChangeEvent event : events) {
+            TaskAlert alert = toAlert(event);
+            if (alert != null) {
+                publish(alert);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.alerts.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.heartbeatIfIdle(heartbeatInterval)));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(SseConnection::close));
+        executor.shutdownNow();
+    }
+
+    private void remove(Long userId, SseConnection<TaskAlert> connection) {
+        connectionCount.decrementAndGet();
+        connections.computeIfPresent(userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    // A newer alert for the same task and type supersedes one the client has not received yet
+    private static Object coalesceKey(TaskAlert alert) {
+        return alert.taskId() + ":" + alert.type();
+    }
+
+    private static TaskAlert toAlert(TaskChangeEvent event) {
+        TaskDTO task = event.task();
+        if (task == null || event.userId() == null) {
+            return null;
+        }
+        AlertType type = switch (event.type()) {
+            case CREATED, ASSIGNED -> AlertType.ASSIGNED;
+            case PATCHED -> event.fields().contains("userId") ? AlertType.ASSIGNED : null;
+            case DUE_SOON -> AlertType.DUE_SOON;
+            case OVERDUE -> AlertType.OVERDUE;
+            default -> null;
+        };
+        return type != null
+                ? new TaskAlert(type, event.taskId(), event.userId(), task.title(), task.dueDate())
+                : null;
+    }
+}
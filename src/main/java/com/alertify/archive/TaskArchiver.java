@@ -0,0 +1,176 @@
+package com.alertify.archive;
+
+import com.alertify.changes.TaskChangeRecorder;
+import com.alertify.dto.OccurrenceLink;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.ArchivedTask;
+import com.alertify.repository.ArchivedTaskRepository;
+import com.alertify.repository.TaskOccurrenceRepository;
+import com.alertify.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves completed tasks that have not been written for {@code min-age} from {@code tasks} to the
+ * {@code task_archive} table, so the hot table and its indexes only hold active work. Each batch is copied,
+ * deleted and announced as {@link TaskChangeType#ARCHIVED} in one transaction, with a pause between batches
+ * to leave the database to foreground traffic. Scheduled runs go to the archiver's own thread, so the pauses
+ * never hold the shared scheduler thread that the relay, the write flush and the replica lag checks run on.
+ * <p>
+ * Archived tasks are read-only: they stay readable by id and as recurring occurrences, drop out of listings
+ * and search, and keep counting towards their owner's task counters.
+ */
+@Slf4j
+@Component
+public class TaskArchiver {
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskOccurrenceRepository occurrenceRepository;
+    private final TaskChangeRecorder changeRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter archivedCounter;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("task-archiver").daemon().factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration batchPause;
+
+    public TaskArchiver(TaskRepository taskRepository,
+                        ArchivedTaskRepository archivedTaskRepository,
+                        TaskOccurrenceRepository occurrenceRepository,
+                        TaskChangeRecorder changeRecorder,
+                        PlatformTransactionManager transactionManager,
+                        Clock clock,
+                        MeterRegistry meterRegistry,
+                        @Value("${alertify.tasks.archive.enabled:true}") boolean enabled,
+                        @Value("${alertify.tasks.archive.min-age:P30D}") Duration minAge,
+                        @Value("${alertify.tasks.archive.batch-size:500}") int batchSize,
+                        @Value("${alertify.tasks.archive.max-batches-per-run:20}") int maxBatchesPerRun,
+                        @Value("${alertify.tasks.archive.batch-pause:PT0.2S}") Duration batchPause) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.occurrenceRepository = occurrenceRepository;
+        this.changeRecorder = changeRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.archivedCounter = meterRegistry.counter("alertify.tasks.archived");
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPause = batchPause;
+    }
+
+    // Hands the run off and returns at once; a tick that finds the previous run still going is skipped
+    @Scheduled(fixedDelayString = "${alertify.tasks.archive.interval:PT10M}")
+    public void scheduledArchive() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                int archived = archive();
+                if (archived > 0) {
+                    log.info("Archived {} completed tasks older than {}", archived, minAge);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Task archival run failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    // Interrupts a pause, which ends the run after its current batch; a platform thread, so an interrupt
+    // cannot close the JDBC socket of a batch in progress the way it would for a virtual thread
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Archives eligible tasks, up to {@code max-batches-per-run} batches, and returns how many were archived.
+     */
+    public int archive() {
+        Instant cutoff = Instant.now(clock).minus(minAge);
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<Long> ids = taskRepository.findArchivableIds(cutoff, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            total += transactionTemplate.execute(status -> archiveBatch(ids, cutoff));
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        archivedCounter.increment(total);
+        return total;
+    }
+
+    private int archiveBatch(List<Long> candidateIds, Instant cutoff) {
+        // Locked in id order like every multi-row task write; a task reopened since the scan is skipped
+        List<TaskDTO> tasks = taskRepository.findDTOsByIdsForUpdate(candidateIds).stream()
+                .filter(task -> task.status() == TaskStatus.COMPLETED && task.updatedAt().isBefore(cutoff))
+                .toList();
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = tasks.stream().map(TaskDTO::id).toList();
+        Map<Long, OccurrenceLink> occurrences = occurrenceRepository.findLinksByTaskIds(ids).stream()
+                .collect(Collectors.toMap(OccurrenceLink::taskId, Function.identity()));
+
+        Instant now = Instant.now(clock);
+        archivedTaskRepository.saveAll(tasks.stream().map(task -> {
+            OccurrenceLink occurrence = occurrences.get(task.id());
+            return new ArchivedTask(task.id(), task.title(), task.description(), task.priority(), task.status(),
+                    task.dueDate(), task.userId(), task.version(), task.updatedAt(),
+                    occurrence != null ? occurrence.seriesId() : null,
+                    occurrence != null ? occurrence.occurrenceDate() : null, now);
+        }).toList());
+        if (!occurrences.isEmpty()) {
+            occurrenceRepository.deleteAllByIdInBatch(occurrences.keySet());
+        }
+        taskRepository.deleteAllByIdInBatch(ids);
+        // Cached copies stay valid: the archived row is the same task, at the same version
+        changeRecorder.recordAll(TaskChangeType.ARCHIVED, tasks);
+        return tasks.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.alertify.changes;
+
+import com.alertify.dto.TaskChangeEvent;
+
+import java.util.List;
+
+/**
+ * External destination for published task changes (Kafka, RabbitMQ, ...). Called with one batch at a
+ * time inside the relay transaction: throwing rolls the batch back and it is published again on the
+ * next run, so delivery is at-least-once and consumers should de-duplicate on
+ * {@link TaskChangeEvent#eventId()}.
+ */
+public interface ChangeEventBroker {
+    void publish(List<TaskChangeEvent> events);
+}
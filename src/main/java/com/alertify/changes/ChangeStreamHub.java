@@ -0,0 +1,264 @@
+package com.alertify.changes;
+
+import com.alertify.dto.TaskChangeEvent;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.exceptions.ChangeStreamGapException;
+import com.alertify.model.OutboxRelayState;
+import com.alertify.repository.OutboxRelayStateRepository;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.sse.SseConnection;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the published task change stream on this node: resumable reads from the outbox, SSE
+ * subscriptions that replay from a sequence number and then follow live, and fan-out to in-process
+ * {@link TaskChangeListener}s.
+ * <p>
+ * The relay runs on whichever node holds its lock, so every node tails the published outbox itself
+ * (one indexed read per poll); the relaying node also pushes its batch straight in after commit.
+ * <p>
+ * Due-date alerts share the outbox so they reach every node, but only the listeners see them: the change
+ * feed and its subscribers carry task changes alone, and alerts are served by the per-user alert streams.
+ */
+@Slf4j
+@Component
+public class ChangeStreamHub {
+
+    static final String EVENT_NAME = "task-change";
+
+    private static final List<TaskChangeType> ALERT_TYPES =
+            Arrays.stream(TaskChangeType.values()).filter(TaskChangeType::isAlert).toList();
+
+    private final TaskOutboxRepository outboxRepository;
+    private final OutboxRelayStateRepository stateRepository;
+    private final List<TaskChangeListener> listeners;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final boolean pollEnabled;
+    private final long timeoutMillis;
+    private final int batchSize;
+    private final int maxQueued;
+    private final Duration heartbeatInterval;
+
+    // Highest sequence fanned out on this node; -1 until the first poll
+    private long lastSeen = -1;
+
+    public ChangeStreamHub(TaskOutboxRepository outboxRepository,
+                           OutboxRelayStateRepository stateRepository,
+                           List<TaskChangeListener> listeners,
+                           @Value("${alertify.changes.stream.enabled:true}") boolean pollEnabled,
+                           @Value("${alertify.changes.stream.timeout:PT30M}") Duration timeout,
+                           @Value("${alertify.changes.stream.replay-batch-size:500}") int batchSize,
+                           @Value("${alertify.changes.stream.max-buffered:10000}") int maxQueued,
+                           @Value("${alertify.changes.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.outboxRepository = outboxRepository;
+        this.stateRepository = stateRepository;
+        this.listeners = listeners;
+        this.pollEnabled = pollEnabled;
+        this.timeoutMillis = timeout.toMillis();
+        this.batchSize = batchSize;
+        this.maxQueued = maxQueued;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Changes published after {@code after}, oldest first.
+     *
+     * @throws ChangeStreamGapException if changes after {@code after} were already purged
+     */
+    public List<TaskChangeEvent> findAfter(long after, int limit) {
+        checkResumable(after);
+        return outboxRepository.findPublishedAfterExcluding(after, ALERT_TYPES, Limit.of(limit)).stream()
+                .map(TaskChangeEvent::of)
+                .toList();
+    }
+
+    /**
+     * Opens a stream of changes after {@code after}, or after the latest published change when it is null.
+     */
+    public SseEmitter subscribe(Long after) {
+        long from = after != null ? after : lastPublishedSeq();
+        checkResumable(from);
+        // Overflow closes the stream instead of dropping: the client resumes from Last-Event-ID without gaps
+        SseConnection<TaskChangeEvent> connection = new SseConnection<>(new SseEmitter(timeoutMillis), maxQueued,
+                SseConnection.OverflowPolicy.DISCONNECT, null, ChangeStreamHub::encode, executor);
+        Subscriber subscriber = new Subscriber(connection, from);
+        subscribers.add(subscriber);
+        connection.onClose(() -> subscribers.remove(subscriber));
+
+        // Registered before replaying, so changes fanned out meanwhile are buffered rather than missed
+        executor.execute(() -> replay(subscriber));
+        return connection.getEmitter();
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.changes.stream.poll-interval:PT0.25S}")
+    public void scheduledPoll() {
+        if (pollEnabled) {
+            poll();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.changes.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.connection.heartbeatIfIdle(heartbeatInterval));
+    }
+
+    /**
+     * Fans out every change published since the last poll and returns how many there were.
+     */
+    public synchronized int poll() {
+        if (lastSeen < 0) {
+            lastSeen = lastPublishedSeq();
+            return 0;
+        }
+        int total = 0;
+        List<TaskChangeEvent> page;
+        do {
+            page = outboxRepository.findPublishedAfter(lastSeen, Limit.of(batchSize)).stream()
+                    .map(TaskChangeEvent::of)
+                    .toList();
+            fanOut(page);
+            total += page.size();
+        } while (page.size() == batchSize);
+        return total;
+    }
+
+    // Called by the relay after commit so its own node does not wait for the next poll
+    synchronized void published(List<TaskChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (lastSeen < 0 || events.get(0).seq() == lastSeen + 1) {
+            fanOut(events);
+        } else if (events.get(0).seq() > lastSeen + 1) {
+            poll();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.connection.close());
+        executor.shutdownNow();
+    }
+
+    private void fanOut(List<TaskChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        lastSeen = events.get(events.size() - 1).seq();
+        List<TaskChangeEvent> changes = events.stream().filter(event -> !event.type().isAlert()).toList();
+        if (!changes.isEmpty()) {
+            subscribers.forEach(subscriber -> subscriber.deliver(changes));
+        }
+        for (TaskChangeListener listener : listeners) {
+            try {
+                listener.onChanges(events);
+            } catch (RuntimeException e) {
+                log.warn("Task change listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber) {
+        try {
+            List<TaskChangeEvent> page;
+            do {
+                page = findAfter(subscriber.lastSeq, batchSize);
+                subscriber.replay(page);
+            } while (page.size() == batchSize && subscriber.connection.isOpen());
+            subscriber.goLive();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Change stream replay failed", e);
+            subscriber.connection.close();
+        }
+    }
+
+    private void checkResumable(long after) {
+        if (after <= 0) {
+            return;
+        }
+        Long oldest = outboxRepository.findOldestSeq();
+        long lastSeq = lastPublishedSeq();
+        if (after > lastSeq) {
+            throw new IllegalArgumentException("Sequence " + after + " has not been published yet");
+        }
+        if (after < lastSeq && (oldest == null || oldest > after + 1)) {
+            throw new ChangeStreamGapException("Changes after sequence " + after + " are no longer retained, resync from a full read");
+        }
+    }
+
+    private long lastPublishedSeq() {
+        return stateRepository.findById(OutboxRelay.RELAY_NAME).map(OutboxRelayState::getLastSeq).orElse(0L);
+    }
+
+    private static SseEmitter.SseEventBuilder encode(TaskChangeEvent event) {
+        return SseEmitter.event().id(Long.toString(event.seq())).name(EVENT_NAME).data(event);
+    }
+
+    private final class Subscriber {
+        private final SseConnection<TaskChangeEvent> connection;
+        // Written only by the replay thread until goLive, then only under the lock
+        private volatile long lastSeq;
+        private List<TaskChangeEvent> buffered = new ArrayList<>();
+
+        private Subscriber(SseConnection<TaskChangeEvent> connection, long after) {
+            this.connection = connection;
+            this.lastSeq = after;
+        }
+
+        // Replay writes directly: nothing is queued on the connection before goLive
+        void replay(List<TaskChangeEvent> events) throws IOException {
+            for (TaskChangeEvent event : events) {
+                if (event.seq() > lastSeq) {
+                    connection.getEmitter().send(encode(event));
+                    lastSeq = event.seq();
+                }
+            }
+        }
+
+        synchronized void deliver(List<TaskChangeEvent> events) {
+            if (buffered == null) {
+                enqueue(events);
+            } else if (buffered.size() + events.size() > maxQueued) {
+                connection.close();
+            } else {
+                buffered.addAll(events);
+            }
+        }
+
+        synchronized void goLive() {
+            enqueue(buffered);
+            buffered = null;
+        }
+
+        // Sequence numbers make replayed and buffered copies of the same change collapse to one
+        private void enqueue(List<TaskChangeEvent> events) {
+            for (TaskChangeEvent event : events) {
+                if (event.seq() > lastSeq && connection.offer(event)) {
+                    lastSeq = event.seq();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.alertify.changes;
+
+import com.alertify.dto.TaskChangeEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects published changes in memory; intended for tests.
+ */
+public class InMemoryChangeEventBroker implements ChangeEventBroker {
+
+    private final List<TaskChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<TaskChangeEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public List<TaskChangeEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.alertify.changes;
+
+import com.alertify.dto.TaskChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Default broker when none is configured: changes only reach SSE subscribers and the REST delta feed.
+ */
+@Slf4j
+public class LoggingChangeEventBroker implements ChangeEventBroker {
+
+    @Override
+    public void publish(List<TaskChangeEvent> events) {
+        if (log.isDebugEnabled()) {
+            events.forEach(event -> log.debug("Task change #{}: {} task {}", event.seq(), event.type(), event.taskId()));
+        }
+    }
+}
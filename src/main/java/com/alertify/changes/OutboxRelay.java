@@ -0,0 +1,138 @@
+package com.alertify.changes;
+
+import com.alertify.dto.TaskChangeEvent;
+import com.alertify.model.OutboxRelayState;
+import com.alertify.model.TaskOutboxEvent;
+import com.alertify.repository.OutboxRelayStateRepository;
+import com.alertify.repository.TaskOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the task outbox in batches. Each batch is numbered from the relay's locked state row,
+ * marked published and handed to the {@link ChangeEventBroker} in one transaction, then fanned out
+ * by the local {@link ChangeStreamHub} once that transaction has committed. Published rows stay in the outbox for
+ * the retention period so clients can resume from a sequence number.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    static final String RELAY_NAME = "tasks";
+
+    private final TaskOutboxRepository outboxRepository;
+    private final OutboxRelayStateRepository stateRepository;
+    private final ChangeEventBroker broker;
+    private final ChangeStreamHub hub;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    public OutboxRelay(TaskOutboxRepository outboxRepository,
+                       OutboxRelayStateRepository stateRepository,
+                       ChangeEventBroker broker,
+                       ChangeStreamHub hub,
+                       PlatformTransactionManager transactionManager,
+                       Clock clock,
+                       @Value("${alertify.changes.relay.enabled:true}") boolean enabled,
+                       @Value("${alertify.changes.relay.batch-size:500}") int batchSize,
+                       @Value("${alertify.changes.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${alertify.changes.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.stateRepository = stateRepository;
+        this.broker = broker;
+        this.hub = hub;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.changes.relay.interval:PT0.5S}")
+    public void scheduledRelay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            relay();
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Another node created the relay state first, retrying next run", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.changes.purge-interval:PT1H}")
+    public void scheduledPurge() {
+        if (!enabled) {
+            return;
+        }
+        Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deletePublishedBefore(Instant.now(clock).minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} task changes older than {}", purged, retention);
+        }
+    }
+
+    /**
+     * Publishes pending outbox rows and returns how many were published.
+     */
+    public int relay() {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<TaskChangeEvent> published = transactionTemplate.execute(status -> publishBatch());
+            if (published.isEmpty()) {
+                break;
+            }
+            hub.published(published);
+            total += published.size();
+            if (published.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private List<TaskChangeEvent> publishBatch() {
+        OutboxRelayState state = lockState();
+        List<TaskOutboxEvent> pending = outboxRepository.findUnpublished(Limit.of(batchSize));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        Instant now = Instant.now(clock);
+        long seq = state.getLastSeq();
+        List<TaskChangeEvent> events = new ArrayList<>(pending.size());
+        for (TaskOutboxEvent event : pending) {
+            event.setSeq(++seq);
+            event.setPublishedAt(now);
+            events.add(TaskChangeEvent.of(event));
+        }
+        state.setLastSeq(seq);
+        state.setUpdatedAt(now);
+
+        broker.publish(events);
+        return events;
+    }
+
+    private OutboxRelayState lockState() {
+        return stateRepository.findForUpdate(RELAY_NAME)
+                .orElseGet(() -> stateRepository.saveAndFlush(new OutboxRelayState(RELAY_NAME, 0L, Instant.now(clock))));
+    }
+}
@@ -0,0 +1,13 @@
+package com.alertify.changes;
+
+import com.alertify.dto.TaskChangeEvent;
+
+import java.util.List;
+
+/**
+ * In-process consumer of the published change stream. Every node calls its listeners for every
+ * change, in sequence order, on the hub's polling thread: implementations must not block.
+ */
+public interface TaskChangeListener {
+    void onChanges(List<TaskChangeEvent> events);
+}
@@ -0,0 +1,89 @@
+package com.alertify.changes;
+
+import com.alertify.dto.TaskAlert;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.TaskPatchDTO.Field;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.model.TaskOutboxEvent;
+import com.alertify.repository.TaskOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes task changes to the outbox. Must join the transaction of the change it records, so the
+ * outbox row commits or rolls back with it; {@link OutboxRelay} publishes it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeRecorder {
+
+    private final TaskOutboxRepository outboxRepository;
+    private final Clock clock;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(TaskChangeType type, TaskDTO task) {
+        outboxRepository.save(snapshot(type, task, Instant.now(clock)));
+    }
+
+    // Pooled ids let Hibernate batch these INSERTs alongside the task writes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(TaskChangeType type, Collection<TaskDTO> tasks) {
+        Instant now = Instant.now(clock);
+        outboxRepository.saveAll(tasks.stream().map(task -> snapshot(type, task, now)).toList());
+    }
+
+    /**
+     * Records only the patched properties, since a conditional PATCH never reads the full row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPatch(Long taskId, Long version, TaskPatchDTO patch) {
+        TaskDTO delta = new TaskDTO(taskId,
+                patch.has(Field.TITLE) ? patch.getTitle() : null,
+                patch.has(Field.DESCRIPTION) ? patch.getDescription() : null,
+                patch.has(Field.PRIORITY) ? patch.getPriority() : null,
+                patch.has(Field.STATUS) ? patch.getStatus() : null,
+                patch.has(Field.DUE_DATE) ? patch.getDueDate() : null,
+                patch.has(Field.USER_ID) ? patch.getUserId() : null,
+                version, null);
+        List<String> fields = Arrays.stream(Field.values()).filter(patch::has).map(Field::getProperty).toList();
+        outboxRepository.save(new TaskOutboxEvent(null, null, TaskChangeType.PATCHED, taskId, patch.getUserId(),
+                version, delta, fields, Instant.now(clock), null));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long taskId, Long userId) {
+        outboxRepository.save(new TaskOutboxEvent(null, null, TaskChangeType.DELETED, taskId, userId,
+                null, null, null, Instant.now(clock), null));
+    }
+
+    /**
+     * Records due-date alerts so they reach the alert streams on every node. They are relayed like task
+     * changes but left out of the change feed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAlerts(List<TaskAlert> alerts) {
+        Instant now = Instant.now(clock);
+        List<String> fields = List.of("title", "dueDate", "userId");
+        outboxRepository.saveAll(alerts.stream()
+                .map(alert -> new TaskOutboxEvent(null, null, TaskChangeType.valueOf(alert.type().name()),
+                        alert.taskId(), alert.userId(), null,
+                        new TaskDTO(alert.taskId(), alert.title(), null, null, null, alert.dueDate(),
+                                alert.userId(), null, null),
+                        fields, now, null))
+                .toList());
+    }
+
+    private static TaskOutboxEvent snapshot(TaskChangeType type, TaskDTO task, Instant now) {
+        return new TaskOutboxEvent(null, null, type, task.id(), task.userId(), task.version(),
+                task, null, now, null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.alertify.config;
+
+import com.alertify.alerts.AlertSink;
+import com.alertify.alerts.OutboxAlertSink;
+import com.alertify.changes.TaskChangeRecorder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+public class AlertConfig {
+
+    // Declare another AlertSink bean (email, push...) to replace delivery through the change stream
+    @Bean
+    @ConditionalOnMissingBean
+    public AlertSink alertSink(TaskChangeRecorder changeRecorder) {
+        return new OutboxAlertSink(changeRecorder);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
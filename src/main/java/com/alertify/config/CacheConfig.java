@@ -0,0 +1,43 @@
+package com.alertify.config;
+
+import com.alertify.metrics.RequestStatisticsCaffeineCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches for single-entity reads. Services only depend on Spring's {@link CacheManager},
+ * so the in-process Caffeine backend can be swapped for a distributed one by replacing this bean.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASKS = "tasks";
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${alertify.cache.tasks.spec}") String tasksSpec,
+                                     @Value("${alertify.cache.users.spec}") String usersSpec) {
+        // Hits and misses are also counted per request (alertify.request.cache.*); loads that overlapped an
+        // evict are not stored, so @Cacheable reads use sync = true to load through the checked path
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new RequestStatisticsCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.registerCustomCache(TASKS, Caffeine.from(tasksSpec).build());
+        cacheManager.registerCustomCache(USERS, Caffeine.from(usersSpec).build());
+        cacheManager.setAllowNullValues(false);
+
+        // Puts and evictions issued inside a transaction are applied only after it commits
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,18 @@
+package com.alertify.config;
+
+import com.alertify.changes.ChangeEventBroker;
+import com.alertify.changes.LoggingChangeEventBroker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ChangeStreamConfig {
+
+    // Declare another ChangeEventBroker bean (Kafka, RabbitMQ...) to forward task changes downstream
+    @Bean
+    @ConditionalOnMissingBean
+    public ChangeEventBroker changeEventBroker() {
+        return new LoggingChangeEventBroker();
+    }
+}
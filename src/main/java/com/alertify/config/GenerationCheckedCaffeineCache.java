@@ -0,0 +1,81 @@
+package com.alertify.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caffeine cache for {@code @Cacheable(sync = true)} reads that refuses to store a value loaded across an evict.
+ * Writers evict after commit, so a reader that loaded the row before the commit would otherwise put the
+ * pre-commit state back and serve it, and the ETags built from it, until the entry expires.
+ * Same generation check as {@link com.alertify.security.UserDetailsCache}.
+ */
+public class GenerationCheckedCaffeineCache extends CaffeineCache {
+
+    // Bumped by every evict of a key hashing to the slot; a load only fills the cache if its slot did not move
+    private static final int GENERATION_SLOTS = 64;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+    public GenerationCheckedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    // Loads outside the cache's compute lock: a JDBC call inside it would pin a virtual thread's carrier
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+        int slot = slot(key);
+        long generation = generations.get(slot);
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        Object stored = toStoreValue(loaded);
+        // A load that overlapped an evict may have read the old row: return it once, but do not cache it
+        getNativeCache().asMap().compute(key, (k, existing) -> generations.get(slot) == generation ? stored : existing);
+        return loaded;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(slot(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generations.incrementAndGet(slot(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        bumpAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        bumpAll();
+        return super.invalidate();
+    }
+
+    private void bumpAll() {
+        for (int i = 0; i < GENERATION_SLOTS; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int slot(Object key) {
+        return Math.floorMod(key.hashCode(), GENERATION_SLOTS);
+    }
+}
@@ -0,0 +1,51 @@
+package com.alertify.config;
+
+import com.alertify.dto.TaskDTO;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * JSON settings for API responses: optional Blackbird property access, and the filter that
+ * lets task representations be narrowed with {@code ?fields=}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    public static final String TASK_FIELDS_FILTER = "taskFields";
+
+    // Replaces reflective getter/constructor calls with generated lambdas; picked up by Boot's ObjectMapper
+    @Bean
+    @ConditionalOnProperty(name = "alertify.json.blackbird.enabled", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Attached through a mix-in, so other mappers (such as Hibernate's for the outbox payload) never see the filter
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer taskFieldsFilterCustomizer() {
+        return builder -> builder.mixIn(TaskDTO.class, TaskFieldsFilterMixin.class).filters(taskFields(null));
+    }
+
+    /**
+     * Filters for one response; null selects every task field.
+     */
+    public static FilterProvider taskFields(Set<String> fields) {
+        return new SimpleFilterProvider().addFilter(TASK_FIELDS_FILTER, fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    @JsonFilter(TASK_FIELDS_FILTER)
+    public interface TaskFieldsFilterMixin {
+    }
+}
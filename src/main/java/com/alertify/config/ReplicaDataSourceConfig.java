@@ -0,0 +1,97 @@
+package com.alertify.config;
+
+import com.alertify.datasource.ReadYourWritesFilter;
+import com.alertify.datasource.ReplicaLagMonitor;
+import com.alertify.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write split. The application DataSource defers fetching a physical connection until the first
+ * statement, by which time a {@code @Transactional(readOnly = true)} transaction has marked it read-only
+ * and it is taken from {@link ReplicaRoutingDataSource} instead of the primary pool. Flyway and every
+ * read-write transaction keep using the primary, configured as before under {@code spring.datasource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "alertify.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${alertify.datasource.replicas.urls}") List<String> urls,
+            @Value("${alertify.datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${alertify.datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${alertify.datasource.replicas.maximum-pool-size:20}") int maximumPoolSize,
+            @Value("${alertify.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(primaryDataSource.getDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setReadOnly(true);
+            // A replica that is down at startup is simply not routed to until the lag check reaches it
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            @Value("${alertify.datasource.replicas.lag-query}") String lagQuery,
+            @Value("${alertify.datasource.replicas.lag-check.enabled:true}") boolean enabled) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, lagQuery, enabled);
+    }
+
+    // Right behind the security chain, which has already authenticated the caller when this runs
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${alertify.datasource.replicas.sticky-window:10s}") Duration stickyWindow,
+            @Value("${alertify.datasource.replicas.sticky-max-clients:200000}") long maxClients,
+            Clock clock) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyWindow, maxClients, clock));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
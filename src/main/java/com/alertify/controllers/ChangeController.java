@@ -0,0 +1,64 @@
+package com.alertify.controllers;
+
+import com.alertify.changes.ChangeStreamHub;
+import com.alertify.dto.TaskChangeEvent;
+import com.alertify.util.CursorPageResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@Validated
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Change Controller", description = "Task change feed, as an alternative to polling the task list")
+public class ChangeController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ChangeStreamHub changeStreamHub;
+
+    @Operation(summary = "Get task changes", description = "Returns task changes published after the given " +
+            "sequence number, oldest first. Pass the returned nextCursor as 'after' to continue. Due-date " +
+            "alerts are not included; they are served by each user's alert stream.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changes retrieved"),
+            @ApiResponse(responseCode = "410", description = "Changes after this sequence were purged, resync required")
+    })
+    @GetMapping
+    public ResponseEntity<CursorPageResponse<TaskChangeEvent>> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<TaskChangeEvent> changes = changeStreamHub.findAfter(after, limit);
+        // The cursor is always returned so a caught-up client can poll from where it stopped
+        long last = changes.isEmpty() ? after : changes.get(changes.size() - 1).seq();
+        CursorPageResponse<TaskChangeEvent> response = CursorPageResponse.of(changes, Long.toString(last), "Changes retrieved successfully");
+        response.setHasNext(changes.size() == limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Stream task changes", description = "Server-Sent Events stream of task changes. " +
+            "Replays from 'after' (or the Last-Event-ID header on reconnect), then follows new changes live. " +
+            "Without either, only changes published from now on are sent.")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long from = lastEventId != null ? lastEventId : after;
+        log.info("Opening task change stream after sequence {}", from != null ? from : "head");
+        return changeStreamHub.subscribe(from);
+    }
+}
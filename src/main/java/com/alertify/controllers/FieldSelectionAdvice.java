@@ -0,0 +1,64 @@
+package com.alertify.controllers;
+
+import com.alertify.config.JacksonConfig;
+import com.alertify.dto.TaskDTO;
+import com.alertify.util.ApiSuccessResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Narrows every task in a JSON response to the properties named by {@code ?fields=id,title,status},
+ * so clients paging through large lists download only the columns they use.
+ */
+@RestControllerAdvice
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    private static final Set<String> TASK_FIELDS = Arrays.stream(TaskDTO.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        // Error bodies are left alone, so a bad fields value cannot fail its own 400 response
+        if (!(bodyContainer.getValue() instanceof ApiSuccessResponse<?>)
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        Set<String> selected = fields != null ? parseFields(fields) : Set.of();
+        if (!selected.isEmpty()) {
+            bodyContainer.setFilters(JacksonConfig.taskFields(selected));
+        }
+    }
+
+    static Set<String> parseFields(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!TASK_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown task field '" + name + "', expected any of " + TASK_FIELDS);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+}
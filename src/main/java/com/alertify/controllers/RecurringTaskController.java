@@ -0,0 +1,140 @@
+package com.alertify.controllers;
+
+import com.alertify.dto.RecurringTaskDTO;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskOccurrenceDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.service.RecurringTaskService;
+import com.alertify.service.TaskService;
+import com.alertify.util.ApiSuccessResponse;
+import com.alertify.util.VersionETag;
+import com.alertify.writes.TaskWriteCoalescer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@Validated
+@RestController
+@RequestMapping("/api/v1/recurring-tasks")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Recurring Task Controller", description = "APIs for recurring tasks and their occurrences")
+public class RecurringTaskController {
+
+    private final RecurringTaskService recurringTaskService;
+    private final TaskService taskService;
+    private final TaskWriteCoalescer writeCoalescer;
+
+    @Operation(summary = "Create a recurring task", description = "Creates a task that repeats by an RRULE subset: " +
+            "FREQ=DAILY|WEEKLY|MONTHLY|YEARLY with optional INTERVAL, BYDAY (weekly), COUNT or UNTIL.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Recurring task created"),
+            @ApiResponse(responseCode = "400", description = "Invalid details or recurrence rule")
+    })
+    @PostMapping
+    public ResponseEntity<ApiSuccessResponse<RecurringTaskDTO>> createRecurringTask(
+            @RequestBody @Valid @NotNull RecurringTaskDTO seriesDTO) {
+        log.info("Creating recurring task with title: {}", seriesDTO.title());
+        RecurringTaskDTO created = recurringTaskService.createRecurringTask(seriesDTO);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiSuccessResponse.create(created, "Recurring task created successfully"));
+    }
+
+    @Operation(summary = "Get a recurring task", description = "Fetches a recurring task by its ID.")
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiSuccessResponse<RecurringTaskDTO>> getRecurringTask(@PathVariable @NotNull Long id) {
+        RecurringTaskDTO series = recurringTaskService.getRecurringTask(id);
+        return ResponseEntity.ok(ApiSuccessResponse.create(series, "Recurring task retrieved successfully"));
+    }
+
+    @Operation(summary = "Get the occurrences of a recurring task", description = "Occurrences between from and to " +
+            "(inclusive, at most 366 days). Unmodified ones are computed from the rule and carry no task id.")
+    @GetMapping("/{id}/occurrences")
+    public ResponseEntity<ApiSuccessResponse<List<TaskOccurrenceDTO>>> getOccurrences(
+            @PathVariable @NotNull Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<TaskOccurrenceDTO> occurrences = recurringTaskService.getOccurrences(id, from, to);
+        return ResponseEntity.ok(ApiSuccessResponse.create(occurrences, "Occurrences retrieved successfully"));
+    }
+
+    @Operation(summary = "Get a user's recurring occurrences", description = "Occurrences of all of the user's " +
+            "recurring tasks between from and to (inclusive, at most 366 days), in date order.")
+    @GetMapping("/occurrences")
+    public ResponseEntity<ApiSuccessResponse<List<TaskOccurrenceDTO>>> getUserOccurrences(
+            @RequestParam @NotNull Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<TaskOccurrenceDTO> occurrences = recurringTaskService.getUserOccurrences(userId, from, to);
+        return ResponseEntity.ok(ApiSuccessResponse.create(occurrences, "Occurrences retrieved successfully"));
+    }
+
+    @Operation(summary = "Modify or complete one occurrence", description = "Applies only the fields present in the " +
+            "body to the occurrence on the given date, storing it as a task on its first modification. If-Match is " +
+            "optional and only matches occurrences that are already stored.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Occurrence updated, its task returned"),
+            @ApiResponse(responseCode = "404", description = "Recurring task not found or no occurrence on that date"),
+            @ApiResponse(responseCode = "409", description = "Occurrence is archived"),
+            @ApiResponse(responseCode = "412", description = "Occurrence was modified since the given ETag")
+    })
+    @PatchMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<ApiSuccessResponse<TaskDTO>> patchOccurrence(
+            @PathVariable @NotNull Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody TaskPatchDTO patch) {
+        log.info("Patching occurrence {} of recurring task {}", date, id);
+        Long expectedVersion = ifMatch != null ? VersionETag.parseIfMatch(ifMatch) : null;
+        // Queued writes to the occurrence's task were accepted first, so they must land first
+        recurringTaskService.findOccurrenceTaskId(id, date)
+                .ifPresent(taskId -> writeCoalescer.flushPending(List.of(taskId)));
+        Long taskId = recurringTaskService.patchOccurrence(id, date, expectedVersion, patch);
+        TaskDTO task = taskService.getTaskById(taskId);
+        return ResponseEntity.ok()
+                .eTag(VersionETag.of(task.version()))
+                .lastModified(task.updatedAt())
+                .body(ApiSuccessResponse.create(task, "Occurrence updated successfully"));
+    }
+
+    @Operation(summary = "Delete one occurrence", description = "Removes the occurrence on the given date from the " +
+            "series, deleting its task if it was modified. The date is not listed again.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Occurrence deleted"),
+            @ApiResponse(responseCode = "404", description = "Recurring task not found or no occurrence on that date")
+    })
+    @DeleteMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<ApiSuccessResponse<String>> deleteOccurrence(
+            @PathVariable @NotNull Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Deleting occurrence {} of recurring task {}", date, id);
+        recurringTaskService.findOccurrenceTaskId(id, date)
+                .ifPresent(taskId -> writeCoalescer.flushPending(List.of(taskId)));
+        recurringTaskService.deleteOccurrence(id, date);
+        return ResponseEntity.ok(ApiSuccessResponse.create("Occurrence deleted successfully", "Success"));
+    }
+
+    @Operation(summary = "Delete a recurring task", description = "Stops the series; occurrences already modified " +
+            "remain as ordinary tasks.")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiSuccessResponse<String>> deleteRecurringTask(@PathVariable @NotNull Long id) {
+        log.info("Deleting recurring task with ID: {}", id);
+        recurringTaskService.deleteRecurringTask(id);
+        return ResponseEntity.ok(ApiSuccessResponse.create("Recurring task deleted successfully", "Success"));
+    }
+}
@@ -1,9 +1,29 @@
 package com.alertify.controllers;
 
+import com.alertify.dto.BulkItemResult;
+import com.alertify.dto.CoalescedTaskWrite;
+import com.alertify.dto.CursorPage;
+import com.alertify.dto.EntityVersion;
+import com.alertify.dto.TaskAssignmentDTO;
 import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskFilter;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.TaskWriteOperationDTO;
+import com.alertify.enums.ExportFormat;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskSortKey;
+import com.alertify.enums.TaskStatus;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.service.ExportService;
 import com.alertify.service.TaskService;
 import com.alertify.util.ApiSuccessResponse;
+import com.alertify.util.CursorPageResponse;
+import com.alertify.util.VersionETag;
+import com.alertify.writes.TaskWriteCoalescer;
+import com.alertify.writes.TaskWriteOperation;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,12 +31,23 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @CrossOrigin(origins = "*")
 @Validated
@@ -28,6 +59,12 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ExportService exportService;
+    private final TaskWriteCoalescer writeCoalescer;
+
+    private static final String PREFER = "Prefer";
+    private static final Pattern PREFER_WAIT = Pattern.compile("\\bwait\\s*=\\s*0*(\\d+)");
+    private static final int MAX_WAIT_DIGITS = 18;
 
     @Operation(summary = "Create a new task", description = "Creates a new task with the given details.")
     @ApiResponses({
@@ -36,7 +73,7 @@ public class TaskController {
     })
     @PostMapping
     public ResponseEntity<ApiSuccessResponse<TaskDTO>> createTask(@RequestBody @Valid @NotNull TaskDTO taskDTO) {
-        log.info("Creating task with title: {}", taskDTO.getTitle());
+        log.info("Creating task with title: {}", taskDTO.title());
         TaskDTO createdTask = taskService.createTask(taskDTO);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiSuccessResponse.create(createdTask, "Task created successfully"));
@@ -45,45 +82,228 @@ public class TaskController {
     @Operation(summary = "Get a task by ID", description = "Fetches a task by its ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "304", description = "Task unchanged since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
+    @Parameter(name = FieldSelectionAdvice.FIELDS_PARAM, in = ParameterIn.QUERY,
+            description = "Comma-separated task properties to return, e.g. id,title,status")
     @GetMapping("/{id}")
-    public ResponseEntity<ApiSuccessResponse<TaskDTO>> getTaskById(@PathVariable @NotNull Long id) {
+    public ResponseEntity<ApiSuccessResponse<TaskDTO>> getTaskById(@PathVariable @NotNull Long id, WebRequest webRequest) {
         log.info("Fetching task with ID: {}", id);
+        EntityVersion current = taskService.getTaskVersion(id);
+        if (webRequest.checkNotModified(VersionETag.of(current.version()), current.lastModifiedMillis())) {
+            return null; // 304 with ETag and Last-Modified already written, nothing mapped or serialized
+        }
         TaskDTO task = taskService.getTaskById(id);
-        return ResponseEntity.ok(ApiSuccessResponse.create(task, "Task retrieved successfully"));
+        return ResponseEntity.ok()
+                .eTag(VersionETag.of(task.version()))
+                .lastModified(task.updatedAt())
+                .body(ApiSuccessResponse.create(task, "Task retrieved successfully"));
+    }
+
+    @Operation(summary = "Get an asynchronous write", description = "Reports whether a write accepted with " +
+            "Prefer: respond-async is still pending, was applied (with the task's new version) or failed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Operation found"),
+            @ApiResponse(responseCode = "404", description = "Operation unknown or past its retention")
+    })
+    @GetMapping("/operations/{operationId}")
+    public ResponseEntity<ApiSuccessResponse<TaskWriteOperationDTO>> getWriteOperation(@PathVariable String operationId) {
+        TaskWriteOperationDTO operation = writeCoalescer.getOperation(operationId)
+                .map(TaskWriteOperation::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Write operation not found with id " + operationId));
+        return ResponseEntity.ok(ApiSuccessResponse.create(operation, "Write operation retrieved successfully"));
+    }
+
+    @Operation(summary = "Export all tasks", description = "Streams every task as NDJSON (default) or CSV, row by row.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.info("Exporting all tasks as {}", format);
+        StreamingResponseBody body = out -> exportService.exportTasks(format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + format.getExtension() + "\"")
+                .body(body);
     }
 
-    @Operation(summary = "Get all tasks", description = "Fetches a list of all tasks.")
+    @Operation(summary = "Get all tasks", description = "Fetches a page of tasks matching the given filters. " +
+            "Pass the returned nextCursor to fetch the following page.")
+    @Parameter(name = FieldSelectionAdvice.FIELDS_PARAM, in = ParameterIn.QUERY,
+            description = "Comma-separated task properties to return, e.g. id,title,status")
     @GetMapping
-    public ResponseEntity<ApiSuccessResponse<List<TaskDTO>>> getAllTasks() {
-        log.info("Fetching all tasks");
-        List<TaskDTO> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(ApiSuccessResponse.create(tasks, "Tasks retrieved successfully"));
+    public ResponseEntity<CursorPageResponse<TaskDTO>> getAllTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(defaultValue = "ID") TaskSortKey sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Fetching tasks page (sort: {}, size: {})", sort, size);
+        TaskFilter filter = new TaskFilter(status, priority, userId, dueFrom, dueTo);
+        CursorPage<TaskDTO> page = taskService.getAllTasks(filter, sort, cursor, size);
+        return ResponseEntity.ok(CursorPageResponse.of(page.items(), page.nextCursor(), "Tasks retrieved successfully"));
     }
 
-    @Operation(summary = "assign tasks to a user", description = "assign tasks to a user.")
+    @Operation(summary = "Search tasks", description = "Full-text search over task titles and descriptions, " +
+            "best matches first. The last word matches as a prefix, for autocomplete. " +
+            "Pass the returned nextCursor to fetch the following page.")
+    @Parameter(name = FieldSelectionAdvice.FIELDS_PARAM, in = ParameterIn.QUERY,
+            description = "Comma-separated task properties to return, e.g. id,title,status")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<TaskDTO>> searchTasks(
+            @RequestParam("q") String text,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Searching tasks for '{}'", text);
+        TaskFilter filter = new TaskFilter(status, priority, userId, dueFrom, dueTo);
+        CursorPage<TaskDTO> page = taskService.searchTasks(text, filter, cursor, size);
+        return ResponseEntity.ok(CursorPageResponse.of(page.items(), page.nextCursor(), "Tasks retrieved successfully"));
+    }
+
+    @Operation(summary = "assign tasks to a user", description = "assign tasks to a user. " +
+            "Send Prefer: respond-async to queue the assignment, see the task update endpoint.")
     @PutMapping("/{taskId}/assign/{userId}")
-    public ResponseEntity<ApiSuccessResponse<TaskDTO>> assignTaskToUser(@PathVariable Long taskId, @PathVariable Long userId) {
+    public ResponseEntity<? extends ApiSuccessResponse<?>> assignTaskToUser(
+            @PathVariable Long taskId, @PathVariable Long userId,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
         log.info("Assigning task {} to user {}", taskId, userId);
+        if (prefersAsync(prefer)) {
+            return acceptAsync(CoalescedTaskWrite.assign(taskId, userId), prefer);
+        }
+        writeCoalescer.flushPending(List.of(taskId));
         TaskDTO updatedTask = taskService.assignTaskToUser(taskId, userId);
         return ResponseEntity.ok(ApiSuccessResponse.create(updatedTask, "Task assigned successfully"));
     }
 
-    @Operation(summary = "Update a task", description = "Updates task details by task ID.")
+    @Operation(summary = "Create tasks in bulk", description = "Creates many tasks in one call and reports a result per item.")
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiSuccessResponse<List<BulkItemResult<TaskDTO>>>> bulkCreateTasks(
+            @RequestBody @NotNull List<TaskDTO> taskDTOs) {
+        log.info("Bulk creating {} tasks", taskDTOs.size());
+        List<BulkItemResult<TaskDTO>> results = taskService.bulkCreateTasks(taskDTOs);
+        return ResponseEntity.ok(ApiSuccessResponse.create(results, "Bulk create processed"));
+    }
+
+    @Operation(summary = "Update tasks in bulk", description = "Updates many tasks, identified by their id, in one call.")
+    @PutMapping("/bulk")
+    public ResponseEntity<ApiSuccessResponse<List<BulkItemResult<TaskDTO>>>> bulkUpdateTasks(
+            @RequestBody @NotNull List<TaskDTO> taskDTOs) {
+        log.info("Bulk updating {} tasks", taskDTOs.size());
+        writeCoalescer.flushPending(taskDTOs.stream().filter(Objects::nonNull).map(TaskDTO::id).toList());
+        List<BulkItemResult<TaskDTO>> results = taskService.bulkUpdateTasks(taskDTOs);
+        return ResponseEntity.ok(ApiSuccessResponse.create(results, "Bulk update processed"));
+    }
+
+    @Operation(summary = "Assign tasks in bulk", description = "Reassigns many tasks to users in one call.")
+    @PutMapping("/bulk/assign")
+    public ResponseEntity<ApiSuccessResponse<List<BulkItemResult<TaskDTO>>>> bulkAssignTasks(
+            @RequestBody @NotNull List<TaskAssignmentDTO> assignments) {
+        log.info("Bulk assigning {} tasks", assignments.size());
+        writeCoalescer.flushPending(assignments.stream().filter(Objects::nonNull).map(TaskAssignmentDTO::taskId).toList());
+        List<BulkItemResult<TaskDTO>> results = taskService.bulkAssignTasks(assignments);
+        return ResponseEntity.ok(ApiSuccessResponse.create(results, "Bulk assign processed"));
+    }
+
+    @Operation(summary = "Update a task", description = "Updates task details by task ID. " +
+            "Send Prefer: respond-async to queue the update: queued updates to the same task are merged and applied " +
+            "in one batch shortly after, and the response points at an operation to poll. " +
+            "Add wait=<seconds> to wait for the write to be applied, answering 200 if it was in time. " +
+            "Queued writes are held in the memory of the node that accepted them: they are lost if that node " +
+            "crashes before the flush, and they are ordered only against writes made through the same node. " +
+            "Use the synchronous write, or wait for the operation, when the write must not be lost.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Task updated"),
+            @ApiResponse(responseCode = "202", description = "Update queued, operation in the body and Location header"),
+            @ApiResponse(responseCode = "404", description = "Task or user not found"),
+            @ApiResponse(responseCode = "409", description = "Task is archived")
+    })
     @PutMapping("/{id}")
-    public ResponseEntity<ApiSuccessResponse<TaskDTO>> updateTask(
-            @PathVariable @NotNull Long id, @RequestBody @Valid TaskDTO taskDTO) {
+    public ResponseEntity<? extends ApiSuccessResponse<?>> updateTask(
+            @PathVariable @NotNull Long id, @RequestBody @Valid TaskDTO taskDTO,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
         log.info("Updating task with ID: {}", id);
+        if (prefersAsync(prefer)) {
+            return acceptAsync(CoalescedTaskWrite.update(id, taskDTO), prefer);
+        }
+        // Queued writes to this task were accepted first, so they must land first
+        writeCoalescer.flushPending(List.of(id));
         TaskDTO updatedTask = taskService.updateTask(id, taskDTO);
-        return ResponseEntity.ok(ApiSuccessResponse.create(updatedTask, "Task updated successfully"));
+        return ResponseEntity.ok()
+                .eTag(VersionETag.of(updatedTask.version()))
+                .lastModified(updatedTask.updatedAt())
+                .body(ApiSuccessResponse.create(updatedTask, "Task updated successfully"));
+    }
+
+    @Operation(summary = "Partially update a task", description = "Applies only the fields present in the body. " +
+            "Requires If-Match with the task's ETag; send Prefer: return=minimal to skip reading the task back.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Task updated, new representation returned"),
+            @ApiResponse(responseCode = "204", description = "Task updated, new ETag in the response header"),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "409", description = "Task is archived"),
+            @ApiResponse(responseCode = "412", description = "Task was modified since the given ETag"),
+            @ApiResponse(responseCode = "428", description = "If-Match header missing")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiSuccessResponse<TaskDTO>> patchTask(
+            @PathVariable @NotNull Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @RequestBody TaskPatchDTO patch) {
+        log.info("Patching task with ID: {}", id);
+        writeCoalescer.flushPending(List.of(id));
+        Long version = taskService.patchTask(id, VersionETag.parseIfMatch(ifMatch), patch);
+        if (version != null && prefer != null && prefer.contains("return=minimal")) {
+            return ResponseEntity.noContent().eTag(VersionETag.of(version)).build();
+        }
+        TaskDTO task = taskService.getTaskById(id);
+        return ResponseEntity.ok()
+                .eTag(VersionETag.of(task.version()))
+                .lastModified(task.updatedAt())
+                .body(ApiSuccessResponse.create(task, "Task updated successfully"));
     }
 
-    @Operation(summary = "Delete a task", description = "Deletes a task by its ID.")
+    @Operation(summary = "Delete a task", description = "Deletes a task by its ID, archived or not.")
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiSuccessResponse<String>> deleteTask(@PathVariable @NotNull Long id) {
         log.info("Deleting task with ID: {}", id);
+        writeCoalescer.flushPending(List.of(id));
         taskService.deleteTask(id);
         return ResponseEntity.ok(ApiSuccessResponse.create("Task deleted successfully", "Success"));
     }
+
+    private boolean prefersAsync(String prefer) {
+        return prefer != null && prefer.contains("respond-async") && writeCoalescer.isEnabled();
+    }
+
+    // The coalescer caps the wait at max-wait, so any value too long to parse means the same
+    private static Duration preferredWait(String seconds) {
+        return seconds.length() > MAX_WAIT_DIGITS ? Duration.ofSeconds(Long.MAX_VALUE)
+                : Duration.ofSeconds(Long.parseLong(seconds));
+    }
+
+    private ResponseEntity<? extends ApiSuccessResponse<?>> acceptAsync(CoalescedTaskWrite write, String prefer) {
+        TaskWriteOperation operation = writeCoalescer.submit(write);
+        Matcher wait = PREFER_WAIT.matcher(prefer);
+        if (wait.find()) {
+            Optional<TaskDTO> written = writeCoalescer.await(operation, preferredWait(wait.group(1)));
+            if (written.isPresent()) {
+                return ResponseEntity.ok()
+                        .eTag(VersionETag.of(written.get().version()))
+                        .lastModified(written.get().updatedAt())
+                        .body(ApiSuccessResponse.create(written.get(), "Task updated successfully"));
+            }
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/tasks/operations/" + operation.id()))
+                .header("Preference-Applied", "respond-async")
+                .body(ApiSuccessResponse.create(operation.toDTO(), "Task write accepted"));
+    }
 }
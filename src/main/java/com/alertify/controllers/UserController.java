@@ -1,9 +1,19 @@
 package com.alertify.controllers;
 
+import com.alertify.alerts.UserAlertBroadcaster;
+import com.alertify.dto.BulkItemResult;
+import com.alertify.dto.CursorPage;
+import com.alertify.dto.EntityVersion;
 import com.alertify.dto.UserDTO;
+import com.alertify.dto.UserTaskStatsDTO;
 import com.alertify.dto.UserWithTasksDTO;
+import com.alertify.enums.ExportFormat;
+import com.alertify.service.ExportService;
+import com.alertify.service.TaskStatsService;
 import com.alertify.service.UserService;
 import com.alertify.util.ApiSuccessResponse;
+import com.alertify.util.CursorPageResponse;
+import com.alertify.util.VersionETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,10 +22,15 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +44,9 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ExportService exportService;
+    private final UserAlertBroadcaster userAlertBroadcaster;
+    private final TaskStatsService taskStatsService;
 
     @Operation(summary = "Create a new user", description = "Creates a new user with the provided details.")
     @ApiResponses({
@@ -37,30 +55,108 @@ public class UserController {
     })
     @PostMapping
     public ResponseEntity<ApiSuccessResponse<UserDTO>> createUser(@RequestBody @Valid @NotNull UserDTO userDTO) {
-        log.info("Creating user with email: {}", userDTO.getEmail());
+        log.info("Creating user with email: {}", userDTO.email());
         UserDTO createdUser = userService.createUser(userDTO);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiSuccessResponse.create(createdUser, "User created successfully"));
     }
 
+    @Operation(summary = "Create users in bulk", description = "Creates many users in one call, hashing passwords in parallel, " +
+            "and reports a result per item.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk create processed"),
+            @ApiResponse(responseCode = "429", description = "Password hashing capacity exceeded")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiSuccessResponse<List<BulkItemResult<UserDTO>>>> bulkCreateUsers(
+            @RequestBody @NotNull List<UserDTO> userDTOs) {
+        log.info("Bulk creating {} users", userDTOs.size());
+        List<BulkItemResult<UserDTO>> results = userService.bulkCreateUsers(userDTOs);
+        return ResponseEntity.ok(ApiSuccessResponse.create(results, "Bulk create processed"));
+    }
+
     @Operation(summary = "Get a user by ID", description = "Fetches user details by user ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "User found"),
+            @ApiResponse(responseCode = "304", description = "User unchanged since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ApiSuccessResponse<UserDTO>> getUserById(@PathVariable @NotNull Long id) {
+    public ResponseEntity<ApiSuccessResponse<UserDTO>> getUserById(@PathVariable @NotNull Long id, WebRequest webRequest) {
         log.info("Fetching user with ID: {}", id);
+        EntityVersion current = userService.getUserVersion(id);
+        if (webRequest.checkNotModified(VersionETag.of(current.version()), current.lastModifiedMillis())) {
+            return null; // 304, headers already written
+        }
         UserDTO user = userService.getUserById(id);
-        return ResponseEntity.ok(ApiSuccessResponse.create(user, "User retrieved successfully"));
+        return ResponseEntity.ok()
+                .eTag(VersionETag.of(user.version()))
+                .lastModified(user.updatedAt())
+                .body(ApiSuccessResponse.create(user, "User retrieved successfully"));
+    }
+
+    @Operation(summary = "Get a user's task counters", description = "Task counts by status and priority, " +
+            "plus open tasks past their due date, for dashboards.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Counters retrieved"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/{id}/task-stats")
+    public ResponseEntity<ApiSuccessResponse<UserTaskStatsDTO>> getUserTaskStats(@PathVariable @NotNull Long id) {
+        UserTaskStatsDTO stats = taskStatsService.getUserTaskStats(id);
+        return ResponseEntity.ok(ApiSuccessResponse.create(stats, "Task counters retrieved successfully"));
     }
 
-    @Operation(summary = "Get all users with their tasks", description = "Fetches a list of all users along with their assigned tasks.")
+    @Operation(summary = "Get task counters of several users", description = "Same counters as " +
+            "/{id}/task-stats for up to 200 users in one call, in the order requested.")
+    @GetMapping("/task-stats")
+    public ResponseEntity<ApiSuccessResponse<List<UserTaskStatsDTO>>> getUsersTaskStats(@RequestParam List<Long> ids) {
+        List<UserTaskStatsDTO> stats = taskStatsService.getUsersTaskStats(ids);
+        return ResponseEntity.ok(ApiSuccessResponse.create(stats, "Task counters retrieved successfully"));
+    }
+
+    @Operation(summary = "Stream a user's alerts", description = "Server-Sent Events stream of task assignment " +
+            "and due-date alerts for the user. Sends a heartbeat comment while idle.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "429", description = "Alert stream capacity reached")
+    })
+    @GetMapping(value = "/{id}/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(@PathVariable @NotNull Long id) {
+        userService.getUserById(id);
+        log.debug("Opening alert stream for user {}", id);
+        return userAlertBroadcaster.subscribe(id);
+    }
+
+    @Operation(summary = "Get all users with their tasks", description = "Fetches a page of users along with their assigned tasks. " +
+            "Pass the returned nextCursor to fetch the following page. Send the returned ETag as If-None-Match to poll cheaply.")
     @GetMapping("/with-tasks")
-    public ResponseEntity<ApiSuccessResponse<List<UserWithTasksDTO>>> getUsersWithTasks() {
-        log.info("Fetching all users with their tasks");
-        List<UserWithTasksDTO> usersWithTasks = userService.getUsersWithTasks();
-        return ResponseEntity.ok(ApiSuccessResponse.create(usersWithTasks, "All users with tasks retrieved successfully"));
+    public ResponseEntity<CursorPageResponse<UserWithTasksDTO>> getUsersWithTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest webRequest) {
+        log.info("Fetching users with their tasks (size: {})", size);
+        // Weak: the aggregate tracks the page's content, not its exact bytes
+        String eTag = VersionETag.weak(userService.getUsersWithTasksVersion(cursor, size));
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 without loading a single user or task row
+        }
+        CursorPage<UserWithTasksDTO> page = userService.getUsersWithTasks(cursor, size);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(CursorPageResponse.of(page.items(), page.nextCursor(), "All users with tasks retrieved successfully"));
+    }
+
+    @Operation(summary = "Export all users", description = "Streams every user as NDJSON (default) or CSV, row by row.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.info("Exporting all users as {}", format);
+        StreamingResponseBody body = out -> exportService.exportUsers(format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getExtension() + "\"")
+                .body(body);
     }
 
     @Operation(summary = "Get all users", description = "Fetches a list of all users.")
@@ -0,0 +1,101 @@
+package com.alertify.datasource;
+
+import com.alertify.util.ClientKeys;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing. A request that writes, and every request from the same client
+ * within {@code sticky-window} after a write, reads from the primary. The window should cover the replicas'
+ * {@code max-lag}. Runs inside the security chain's delegation so the JWT subject is already known.
+ * <p>
+ * Each node remembers its own recent writers (see {@link ClientKeys}), which only helps clients that stay on
+ * the node they wrote through. Writes therefore also set the {@value #COOKIE_NAME} cookie with the end of
+ * the window, which pins the client's reads to the primary on whichever node serves them. Clients that do
+ * not keep cookies get the per-node behaviour only.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "alertify-primary-until";
+
+    private final Cache<String, Boolean> recentWriters;
+    private final Duration stickyWindow;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration stickyWindow, long maxClients, Clock clock) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(maxClients)
+                .build();
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String client = ClientKeys.of(request);
+        boolean writes = !isSafe(request.getMethod());
+        if (writes || recentWriters.getIfPresent(client) != null || withinCookieWindow(request)) {
+            ReplicaRoutingDataSource.requirePrimary();
+        }
+        if (writes) {
+            // Set up front: the response may already be committed when the chain returns. A write that fails
+            // only costs the client a few primary reads
+            response.addCookie(primaryUntilCookie());
+        }
+        try {
+            filterChain.doFilter(request, response);
+            if (writes && response.getStatus() < 400) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        } finally {
+            ReplicaRoutingDataSource.clearPrimaryRequired();
+        }
+    }
+
+    private Cookie primaryUntilCookie() {
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(clock.millis() + stickyWindow.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+        cookie.setAttribute("SameSite", "Lax");
+        return cookie;
+    }
+
+    // Bounded by the window, so a forged value can pin reads only as long as a real write would
+    private boolean withinCookieWindow(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        long now = clock.millis();
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    return until > now && until - now <= stickyWindow.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSafe(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+}
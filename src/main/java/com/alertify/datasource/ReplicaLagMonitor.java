@@ -0,0 +1,62 @@
+package com.alertify.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures each replica's replication lag with {@code lag-query}, which must return the lag in seconds
+ * (or NULL when unknown), and feeds it to {@link ReplicaRoutingDataSource}. A replica that cannot be
+ * reached or answers NULL stops serving reads until a later check succeeds.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final String lagQuery;
+    private final boolean enabled;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, String lagQuery, boolean enabled) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.datasource.replicas.lag-check.interval:PT1S}")
+    public void scheduledCheck() {
+        if (enabled) {
+            check();
+        }
+    }
+
+    public void check() {
+        List<HikariDataSource> pools = routingDataSource.replicaPools();
+        for (int i = 0; i < pools.size(); i++) {
+            routingDataSource.updateLag(i, measure(pools.get(i)));
+        }
+    }
+
+    private Duration measure(HikariDataSource pool) {
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(1);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return null;
+                }
+                double seconds = rs.getDouble(1);
+                return rs.wasNull() ? null : Duration.ofMillis(Math.round(seconds * 1000));
+            }
+        } catch (SQLException e) {
+            log.debug("Lag check on replica {} failed: {}", pool.getPoolName(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.alertify.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Target for read-only transactions: hands out connections from the replica pools in round-robin order,
+ * skipping replicas that are unreachable or further behind the primary than {@code max-lag}, and falls
+ * back to the primary when none qualifies or the current request is pinned to it by
+ * {@link ReadYourWritesFilter}.
+ * <p>
+ * Replicas start out unavailable and are admitted by the first {@link ReplicaLagMonitor} check.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryRoutes;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.replicas = replicas.stream()
+                .map(dataSource -> new Replica(dataSource, routes(meterRegistry, dataSource.getPoolName())))
+                .toList();
+        this.primaryRoutes = routes(meterRegistry, "primary");
+    }
+
+    /** Sends this thread's read-only work to the primary until {@link #clearPrimaryRequired()}. */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void clearPrimaryRequired() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PRIMARY_REQUIRED.get() == null) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.isAvailable(maxLag)) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.routes.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    markDown(replica, e);
+                }
+            }
+        }
+        primaryRoutes.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing uses the credentials of each pool");
+    }
+
+    List<HikariDataSource> replicaPools() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    /** Records a replica's measured lag; {@code null} means it could not be measured. */
+    void updateLag(int index, Duration lag) {
+        Replica replica = replicas.get(index);
+        boolean wasAvailable = replica.isAvailable(maxLag);
+        replica.lag = lag;
+        boolean available = replica.isAvailable(maxLag);
+        if (wasAvailable != available) {
+            log.info("Replica {} is now {} (lag {})", replica.dataSource.getPoolName(),
+                    available ? "serving reads" : "excluded", lag);
+        }
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        log.warn("Replica {} failed to hand out a connection, reading from the primary until it recovers: {}",
+                replica.dataSource.getPoolName(), e.getMessage());
+        replica.lag = null;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("alertify.datasource.read.routes")
+                .description("Read-only connections handed out, by target pool")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private final Counter routes;
+        private volatile Duration lag;
+
+        private Replica(HikariDataSource dataSource, Counter routes) {
+            this.dataSource = dataSource;
+            this.routes = routes;
+        }
+
+        private boolean isAvailable(Duration maxLag) {
+            Duration current = lag;
+            return current != null && current.compareTo(maxLag) <= 0;
+        }
+    }
+}
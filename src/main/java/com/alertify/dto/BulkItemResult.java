@@ -0,0 +1,15 @@
+package com.alertify.dto;
+
+/**
+ * Outcome of one element of a bulk request, reported at the same index as the request element.
+ */
+public record BulkItemResult<T>(int index, boolean success, T data, String error) {
+
+    public static <T> BulkItemResult<T> success(int index, T data) {
+        return new BulkItemResult<>(index, true, data, null);
+    }
+
+    public static <T> BulkItemResult<T> failure(int index, String error) {
+        return new BulkItemResult<>(index, false, null, error);
+    }
+}
@@ -0,0 +1,23 @@
+package com.alertify.dto;
+
+/**
+ * The net effect of one or more queued writes to a task: the fields of its latest full update, if any,
+ * and the owner it ends up with, if changed. Later writes win field by field, as if applied in order.
+ */
+public record CoalescedTaskWrite(Long taskId, TaskDTO replacement, Long userId) {
+
+    // PUT: replaces the editable fields; a null userId keeps the owner
+    public static CoalescedTaskWrite update(Long taskId, TaskDTO taskDTO) {
+        return new CoalescedTaskWrite(taskId, taskDTO, taskDTO.userId());
+    }
+
+    public static CoalescedTaskWrite assign(Long taskId, Long userId) {
+        return new CoalescedTaskWrite(taskId, null, userId);
+    }
+
+    public CoalescedTaskWrite then(CoalescedTaskWrite later) {
+        return new CoalescedTaskWrite(taskId,
+                later.replacement != null ? later.replacement : replacement,
+                later.userId != null ? later.userId : userId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.alertify.dto;
+
+import java.util.List;
+
+/**
+ * @param nextCursor null when there are no more rows
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,14 @@
+package com.alertify.dto;
+
+import java.time.Instant;
+
+/**
+ * An entity's HTTP validators: {@code version} becomes the ETag, {@code updatedAt} Last-Modified.
+ */
+public record EntityVersion(Long version, Instant updatedAt) {
+
+    // In the form WebRequest.checkNotModified expects; -1 when unknown
+    public long lastModifiedMillis() {
+        return updatedAt != null ? updatedAt.toEpochMilli() : -1;
+    }
+}
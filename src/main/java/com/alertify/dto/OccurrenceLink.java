@@ -0,0 +1,6 @@
+package com.alertify.dto;
+
+import java.time.LocalDate;
+
+public record OccurrenceLink(Long seriesId, LocalDate occurrenceDate, Long taskId) {
+}
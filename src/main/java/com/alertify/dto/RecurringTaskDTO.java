@@ -0,0 +1,21 @@
+package com.alertify.dto;
+
+import com.alertify.enums.TaskPriority;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A recurring task; {@code rule} is an RRULE subset such as {@code FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20271231}.
+ */
+public record RecurringTaskDTO(
+        Long id,
+        String title,
+        String description,
+        TaskPriority priority,
+        String rule,
+        LocalDate startDate,
+        Long userId,
+        Long version,
+        Instant updatedAt) {
+}
@@ -0,0 +1,19 @@
+package com.alertify.dto;
+
+import com.alertify.enums.AlertType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+public record TaskAlert(AlertType type, Long taskId, Long userId, String title, LocalDate dueDate) {
+
+    // Stable across retries and restarts, so sinks can drop duplicates of an at-least-once delivery
+    @JsonProperty
+    public String alertKey() {
+        return taskId + ":" + type + ":" + dueDate;
+    }
+
+    public static TaskAlert of(AlertType type, TaskDTO task) {
+        return new TaskAlert(type, task.id(), task.userId(), task.title(), task.dueDate());
+    }
+}
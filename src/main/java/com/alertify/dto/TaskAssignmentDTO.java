@@ -0,0 +1,4 @@
+package com.alertify.dto;
+
+public record TaskAssignmentDTO(Long taskId, Long userId) {
+}
@@ -0,0 +1,28 @@
+package com.alertify.dto;
+
+import com.alertify.enums.TaskChangeType;
+import com.alertify.model.TaskOutboxEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One published task change. {@code seq} orders the stream and is what clients resume from;
+ * {@code eventId} identifies the change itself and is stable across redeliveries.
+ */
+public record TaskChangeEvent(
+        long seq,
+        Long eventId,
+        TaskChangeType type,
+        Long taskId,
+        Long userId,
+        Long version,
+        TaskDTO task,
+        List<String> fields,
+        Instant occurredAt) {
+
+    public static TaskChangeEvent of(TaskOutboxEvent event) {
+        return new TaskChangeEvent(event.getSeq(), event.getId(), event.getType(), event.getTaskId(),
+                event.getUserId(), event.getVersion(), event.getPayload(), event.getFields(), event.getCreatedAt());
+    }
+}
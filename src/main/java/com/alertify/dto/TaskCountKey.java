@@ -0,0 +1,26 @@
+package com.alertify.dto;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+
+/**
+ * The properties of a task that the per-user counters depend on.
+ */
+public record TaskCountKey(Long userId, TaskStatus status, TaskPriority priority) {
+
+    public static TaskCountKey of(Task task) {
+        return new TaskCountKey(task.getUser().getId(), task.getStatus(), task.getPriority());
+    }
+
+    public static TaskCountKey of(TaskDTO task) {
+        return new TaskCountKey(task.userId(), task.status(), task.priority());
+    }
+
+    public TaskCountKey patched(TaskPatchDTO patch) {
+        return new TaskCountKey(
+                patch.has(TaskPatchDTO.Field.USER_ID) ? patch.getUserId() : userId,
+                patch.has(TaskPatchDTO.Field.STATUS) ? patch.getStatus() : status,
+                patch.has(TaskPatchDTO.Field.PRIORITY) ? patch.getPriority() : priority);
+    }
+}
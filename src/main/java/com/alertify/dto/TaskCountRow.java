@@ -0,0 +1,10 @@
+package com.alertify.dto;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+
+/**
+ * One group of a tasks GROUP BY (user, status, priority), used to recount the per-user counters.
+ */
+public record TaskCountRow(Long userId, TaskStatus status, TaskPriority priority, long count) {
+}
@@ -2,23 +2,18 @@ package com.alertify.dto;
 
 import com.alertify.enums.TaskPriority;
 import com.alertify.enums.TaskStatus;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class TaskDTO {
-    private Long id;
-    private String title;
-    private String description;
-    private TaskPriority priority;
-    private TaskStatus status;
-    private LocalDate dueDate;
-    private Long userId;
+public record TaskDTO(
+        Long id,
+        String title,
+        String description,
+        TaskPriority priority,
+        TaskStatus status,
+        LocalDate dueDate,
+        Long userId,
+        Long version,
+        Instant updatedAt) {
 }
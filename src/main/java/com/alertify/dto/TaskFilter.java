@@ -0,0 +1,14 @@
+package com.alertify.dto;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public record TaskFilter(
+        TaskStatus status,
+        TaskPriority priority,
+        Long userId,
+        LocalDate dueFrom,
+        LocalDate dueTo) {
+}
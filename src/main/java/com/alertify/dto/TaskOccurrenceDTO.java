@@ -0,0 +1,10 @@
+package com.alertify.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One occurrence of a recurring task. Until it is modified it is computed from the series and its
+ * {@code task} has no id or version; once materialized, {@code task} is the stored task.
+ */
+public record TaskOccurrenceDTO(Long seriesId, LocalDate occurrenceDate, boolean materialized, TaskDTO task) {
+}
@@ -0,0 +1,82 @@
+package com.alertify.dto;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Partial task update. Jackson only calls the setters of properties present in the body,
+ * so an explicit {@code null} (clear the field) can be told apart from an absent one (leave it).
+ */
+@Getter
+@NoArgsConstructor
+public class TaskPatchDTO {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Field {
+        TITLE("title"), DESCRIPTION("description"), PRIORITY("priority"),
+        STATUS("status"), DUE_DATE("dueDate"), USER_ID("userId");
+
+        // JSON property name in request bodies and change events
+        private final String property;
+    }
+
+    private String title;
+    private String description;
+    private TaskPriority priority;
+    private TaskStatus status;
+    private LocalDate dueDate;
+    private Long userId;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final Set<Field> present = EnumSet.noneOf(Field.class);
+
+    public boolean has(Field field) {
+        return present.contains(field);
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return present.isEmpty();
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        present.add(Field.TITLE);
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        present.add(Field.DESCRIPTION);
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+        present.add(Field.PRIORITY);
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+        present.add(Field.STATUS);
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+        present.add(Field.DUE_DATE);
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+        present.add(Field.USER_ID);
+    }
+}
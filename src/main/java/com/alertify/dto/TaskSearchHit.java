@@ -0,0 +1,7 @@
+package com.alertify.dto;
+
+/**
+ * A search result row with its relevance, which the service needs to issue the next-page cursor.
+ */
+public record TaskSearchHit(TaskDTO task, float rank) {
+}
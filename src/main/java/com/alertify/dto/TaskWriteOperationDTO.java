@@ -0,0 +1,10 @@
+package com.alertify.dto;
+
+import com.alertify.enums.WriteOperationStatus;
+
+/**
+ * State of an accepted asynchronous task write; {@code version} is the task's version once it is applied.
+ */
+public record TaskWriteOperationDTO(String operationId, Long taskId, WriteOperationStatus status, Long version,
+                                    String error) {
+}
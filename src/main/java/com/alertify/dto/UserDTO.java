@@ -1,18 +1,12 @@
 package com.alertify.dto;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import java.time.Instant;
 
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class UserDTO {
-    private Long id;
-    private String username;
-    private String email;
-    private String password;
+public record UserDTO(
+        Long id,
+        String username,
+        String email,
+        String password,
+        Long version,
+        Instant updatedAt) {
 }
@@ -0,0 +1,10 @@
+package com.alertify.dto;
+
+/**
+ * Closed projection over {@code User}: selects only the listed columns, never the password or tasks.
+ */
+public interface UserSummary {
+    Long getId();
+    String getUsername();
+    String getEmail();
+}
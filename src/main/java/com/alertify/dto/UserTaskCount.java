@@ -0,0 +1,7 @@
+package com.alertify.dto;
+
+/**
+ * A per-user count from a GROUP BY user query.
+ */
+public record UserTaskCount(Long userId, long count) {
+}
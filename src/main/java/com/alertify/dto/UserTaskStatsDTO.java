@@ -0,0 +1,13 @@
+package com.alertify.dto;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Dashboard counters of one user; tasks without a priority are counted in {@code total} only.
+ */
+public record UserTaskStatsDTO(Long userId, long total, Map<TaskStatus, Long> byStatus,
+                               Map<TaskPriority, Long> byPriority, long overdue) {
+}
@@ -0,0 +1,12 @@
+package com.alertify.dto;
+
+import java.time.Instant;
+
+/**
+ * Aggregate over a set of users and their tasks; any insert, update or delete among them changes it.
+ */
+public interface UserTasksVersion {
+    long getTaskCount();
+    Instant getUsersUpdatedAt();
+    Instant getTasksUpdatedAt();
+}
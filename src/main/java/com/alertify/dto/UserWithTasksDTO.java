@@ -1,15 +1,10 @@
 package com.alertify.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
 import java.util.List;
 
-@Data
-@AllArgsConstructor
-public class UserWithTasksDTO {
-    private Long id;
-    private String username;
-    private String email;
-    private List<TaskDTO> tasks;
+public record UserWithTasksDTO(
+        Long id,
+        String username,
+        String email,
+        List<TaskDTO> tasks) {
 }
-
@@ -0,0 +1,7 @@
+package com.alertify.enums;
+
+public enum AlertType {
+    DUE_SOON, OVERDUE,
+    // Pushed to the assignee's alert stream; not produced by the due-date scan
+    ASSIGNED
+}
@@ -0,0 +1,5 @@
+package com.alertify.enums;
+
+public enum RecurrenceFrequency {
+    DAILY, WEEKLY, MONTHLY, YEARLY
+}
@@ -0,0 +1,13 @@
+package com.alertify.enums;
+
+public enum TaskChangeType {
+    CREATED, UPDATED, PATCHED, ASSIGNED, DELETED,
+    // Moved to the archive: gone from listings, still readable by id
+    ARCHIVED,
+    // Due-date alerts from the scheduler: relayed through the outbox to the alert streams, not the change feed
+    DUE_SOON, OVERDUE;
+
+    public boolean isAlert() {
+        return this == DUE_SOON || this == OVERDUE;
+    }
+}
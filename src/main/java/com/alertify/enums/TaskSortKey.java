@@ -0,0 +1,5 @@
+package com.alertify.enums;
+
+public enum TaskSortKey {
+    ID, DUE_DATE
+}
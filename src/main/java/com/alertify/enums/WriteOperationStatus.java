@@ -0,0 +1,5 @@
+package com.alertify.enums;
+
+public enum WriteOperationStatus {
+    PENDING, COMPLETED, FAILED
+}
@@ -0,0 +1,7 @@
+package com.alertify.exceptions;
+
+public class ChangeStreamGapException extends RuntimeException {
+    public ChangeStreamGapException(String message) {
+        super(message);
+    }
+}
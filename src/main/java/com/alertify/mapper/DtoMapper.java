@@ -0,0 +1,94 @@
+package com.alertify.mapper;
+
+import com.alertify.dto.RecurringTaskDTO;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.UserDTO;
+import com.alertify.dto.UserSummary;
+import com.alertify.dto.UserTaskStatsDTO;
+import com.alertify.dto.UserWithTasksDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.RecurringTask;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.model.UserTaskCounts;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The single place entities are turned into response DTOs and request DTOs into entities.
+ * Passwords never leave through here.
+ */
+public final class DtoMapper {
+
+    private DtoMapper() {
+    }
+
+    public static TaskDTO toDTO(Task task) {
+        return new TaskDTO(task.getId(), task.getTitle(), task.getDescription(),
+                task.getPriority(), task.getStatus(), task.getDueDate(),
+                task.getUser() != null ? task.getUser().getId() : null, task.getVersion(), task.getUpdatedAt());
+    }
+
+    public static Task toEntity(TaskDTO taskDTO, User user) {
+        Task task = new Task();
+        copyEditableFields(taskDTO, task);
+        task.setUser(user);
+        return task;
+    }
+
+    // Everything a PUT replaces; the owner is resolved and set by the caller
+    public static void copyEditableFields(TaskDTO taskDTO, Task task) {
+        task.setTitle(taskDTO.title());
+        task.setDescription(taskDTO.description());
+        task.setPriority(taskDTO.priority());
+        task.setStatus(taskDTO.status());
+        task.setDueDate(taskDTO.dueDate());
+    }
+
+    public static UserDTO toDTO(User user) {
+        return new UserDTO(user.getId(), user.getUsername(), user.getEmail(), null, user.getVersion(), user.getUpdatedAt());
+    }
+
+    public static User toEntity(UserDTO userDTO, String hashedPassword) {
+        return new User(null, userDTO.username(), hashedPassword, userDTO.email(), null, null, null);
+    }
+
+    public static UserWithTasksDTO toDTO(UserSummary user, List<TaskDTO> tasks) {
+        return new UserWithTasksDTO(user.getId(), user.getUsername(), user.getEmail(), tasks);
+    }
+
+    public static UserTaskStatsDTO toDTO(UserTaskCounts counts, long overdue) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        byStatus.put(TaskStatus.TODO, counts.getTodo());
+        byStatus.put(TaskStatus.IN_PROGRESS, counts.getInProgress());
+        byStatus.put(TaskStatus.COMPLETED, counts.getCompleted());
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        byPriority.put(TaskPriority.LOW, counts.getLowPriority());
+        byPriority.put(TaskPriority.MEDIUM, counts.getMediumPriority());
+        byPriority.put(TaskPriority.HIGH, counts.getHighPriority());
+        long total = counts.getTodo() + counts.getInProgress() + counts.getCompleted();
+        return new UserTaskStatsDTO(counts.getUserId(), total, byStatus, byPriority, overdue);
+    }
+
+    public static RecurringTaskDTO toDTO(RecurringTask series) {
+        return new RecurringTaskDTO(series.getId(), series.getTitle(), series.getDescription(), series.getPriority(),
+                series.getRule(), series.getStartDate(), series.getUser().getId(), series.getVersion(),
+                series.getUpdatedAt());
+    }
+
+    // The rule is passed in canonical form, after validation
+    public static RecurringTask toEntity(RecurringTaskDTO seriesDTO, String rule, User user) {
+        return new RecurringTask(null, seriesDTO.title(), seriesDTO.description(), seriesDTO.priority(), rule,
+                seriesDTO.startDate(), user, null, null);
+    }
+
+    // A computed occurrence: the series' fields, due on its date, not yet stored
+    public static TaskDTO toOccurrence(RecurringTask series, LocalDate date) {
+        return new TaskDTO(null, series.getTitle(), series.getDescription(), series.getPriority(), TaskStatus.TODO,
+                date, series.getUser().getId(), null, null);
+    }
+}
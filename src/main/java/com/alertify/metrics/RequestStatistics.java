@@ -0,0 +1,69 @@
+package com.alertify.metrics;
+
+/**
+ * Per-request counters of the data access work done on the request thread. Collection is active only
+ * between {@link #begin()} and {@link #end()}; outside a request (schedulers, relays) every call is a no-op.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int queries;
+    private int entityLoads;
+    private int cacheHits;
+    private int cacheMisses;
+
+    private RequestStatistics() {
+    }
+
+    static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void queryExecuted() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.queries++;
+        }
+    }
+
+    public static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    public static void cacheLookup(boolean hit) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            if (hit) {
+                statistics.cacheHits++;
+            } else {
+                statistics.cacheMisses++;
+            }
+        }
+    }
+
+    int queries() {
+        return queries;
+    }
+
+    int entityLoads() {
+        return entityLoads;
+    }
+
+    int cacheHits() {
+        return cacheHits;
+    }
+
+    int cacheMisses() {
+        return cacheMisses;
+    }
+}
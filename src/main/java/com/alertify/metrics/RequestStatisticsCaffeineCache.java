@@ -0,0 +1,21 @@
+package com.alertify.metrics;
+
+import com.alertify.config.GenerationCheckedCaffeineCache;
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Caffeine cache that reports its hits and misses to the current {@link RequestStatistics}.
+ */
+public class RequestStatisticsCaffeineCache extends GenerationCheckedCaffeineCache {
+
+    public RequestStatisticsCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        RequestStatistics.cacheLookup(value != null);
+        return value;
+    }
+}
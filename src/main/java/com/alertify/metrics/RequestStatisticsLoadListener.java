@@ -0,0 +1,15 @@
+package com.alertify.metrics;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Counts every entity Hibernate materializes, whether from a query, a lazy association or a find.
+ */
+public class RequestStatisticsLoadListener implements PostLoadEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStatistics.entityLoaded();
+    }
+}
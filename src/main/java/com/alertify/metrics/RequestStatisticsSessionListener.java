@@ -0,0 +1,25 @@
+package com.alertify.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Counts JDBC executions and second-level cache lookups of every Hibernate session into the current
+ * {@link RequestStatistics}. Registered for all sessions through {@code hibernate.session.events.auto}.
+ */
+public class RequestStatisticsSessionListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestStatistics.queryExecuted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestStatistics.queryExecuted();
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestStatistics.cacheLookup(hit);
+    }
+}
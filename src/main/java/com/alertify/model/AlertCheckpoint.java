@@ -0,0 +1,40 @@
+package com.alertify.model;
+
+import com.alertify.enums.AlertType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Position of the alert scan for one alert type: every open task ordered at or before
+ * (lastDueDate, lastTaskId) has already been dispatched.
+ */
+@Entity
+@Table(name = "alert_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertCheckpoint {
+    @Id
+    @Enumerated(EnumType.STRING)
+    private AlertType type;
+
+    @Column(nullable = false)
+    private LocalDate lastDueDate;
+
+    @Column(nullable = false)
+    private Long lastTaskId;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.alertify.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A task whose due date was set or moved into a range the alert scan may already have passed. Written in the
+ * task write's transaction and deleted in the transaction that dispatches its alert, so it survives restarts
+ * and is seen by every node. A task can be listed more than once.
+ */
+@Entity
+@Table(name = "alert_late_arrivals")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertLateArrival {
+    // Pooled sequence so bulk writes batch these INSERTs with the tasks
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_late_arrivals_seq")
+    @SequenceGenerator(name = "alert_late_arrivals_seq", sequenceName = "alert_late_arrivals_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,71 @@
+package com.alertify.model;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A completed task moved out of {@code tasks} by {@code TaskArchiver}, with the recurring occurrence it
+ * materialized, if any. Archived rows are only ever inserted and deleted, so saving one never reads it first.
+ */
+@Entity
+@Table(name = "task_archive", indexes = {
+        @Index(name = "idx_task_archive_user", columnList = "user_id"),
+        @Index(name = "idx_task_archive_series_date", columnList = "series_id, occurrence_date")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTask implements Persistable<Long> {
+    // The task's own id, so archived tasks keep their URLs
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TaskPriority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    private LocalDate dueDate;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private Long version;
+
+    private Instant updatedAt;
+
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.alertify.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A date removed from a recurring task, like an iCalendar EXDATE: the rule still yields it, but it is no
+ * longer listed or modifiable. Written when an occurrence, or the task stored for it, is deleted.
+ */
+@Entity
+@Table(name = "cancelled_occurrences")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CancelledOccurrence {
+    @EmbeddedId
+    private Key id;
+
+    @MapsId("seriesId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private RecurringTask series;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long seriesId;
+
+        @Column(name = "occurrence_date")
+        private LocalDate occurrenceDate;
+    }
+}
@@ -0,0 +1,31 @@
+package com.alertify.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Last sequence number handed out by an outbox relay.
+ */
+@Entity
+@Table(name = "outbox_relay_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRelayState {
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Long lastSeq;
+
+    private Instant updatedAt;
+}
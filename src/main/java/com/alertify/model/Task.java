@@ -11,23 +11,38 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+// Schema is owned by the Flyway migrations in db/migration; these mirror the non-partial indexes there
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id"),
+        @Index(name = "idx_tasks_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_tasks_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_tasks_status_id", columnList = "status, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts (IDENTITY forces one round trip per row)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -35,10 +50,12 @@ public class Task {
 
     private String description;
 
+    // Postgres stores these as enum types (see V2 migration); names are bound as varchar and cast implicitly
     @Enumerated(EnumType.STRING)
     private TaskPriority priority;
 
     @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
     private TaskStatus status;
 
     private LocalDate dueDate;
@@ -46,4 +63,20 @@ public class Task {
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    // Optimistic lock; also served to clients as the task's ETag
+    @Version
+    private Long version;
+
+    // Served as Last-Modified; the conditional PATCH sets it itself since it bypasses the entity
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void defaultStatus() {
+        if (status == null) {
+            status = TaskStatus.TODO;
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.alertify.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Marks a task as the materialized occurrence of a recurring task on a given date. Deleting the task
+ * cancels the date (see {@link CancelledOccurrence}); deleting the series leaves its materialized tasks as
+ * ordinary tasks.
+ */
+@Entity
+@Table(name = "task_occurrences", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_task_occurrences_series_date", columnNames = {"series_id", "occurrence_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOccurrence {
+    @Id
+    private Long taskId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private RecurringTask series;
+
+    @Column(nullable = false)
+    private LocalDate occurrenceDate;
+}
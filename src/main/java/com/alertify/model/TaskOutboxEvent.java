@@ -0,0 +1,72 @@
+package com.alertify.model;
+
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A task change written in the same transaction as the change itself. {@code seq} stays null until
+ * the relay publishes the row; it is then assigned in publish order, which is the order clients see
+ * and resume from.
+ * <p>
+ * The relay publishes in id order. Ids come from an unpooled sequence so that the events of one task, whose
+ * writers take its row lock in turn, are numbered in the order they commit on whichever node wrote them.
+ */
+@Entity
+@Table(name = "task_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(unique = true)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskChangeType type;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    private Long userId;
+
+    private Long version;
+
+    // Task state after the change; null for deletes. Write-once, which also keeps the JSON out of dirty checking
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(updatable = false)
+    private TaskDTO payload;
+
+    // Properties of the payload that were changed by a partial update; null means the payload is a full snapshot
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(updatable = false)
+    private List<String> fields;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant publishedAt;
+}
@@ -0,0 +1,47 @@
+package com.alertify.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Running task counts of one user by status and by priority. Writers only ever add deltas to these
+ * columns with a single UPDATE; {@code TaskCountReconciler} checks them against the tasks table.
+ */
+@Entity
+@Table(name = "user_task_counts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTaskCounts {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long todo;
+
+    @Column(nullable = false)
+    private long inProgress;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(nullable = false)
+    private long lowPriority;
+
+    @Column(nullable = false)
+    private long mediumPriority;
+
+    @Column(nullable = false)
+    private long highPriority;
+
+    private Instant updatedAt;
+}
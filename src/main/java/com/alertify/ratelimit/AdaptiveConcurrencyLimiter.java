@@ -0,0 +1,146 @@
+package com.alertify.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps in-flight requests with a limit that follows the database pool: while the mean Hikari
+ * connection-acquire time stays under the target the limit grows by one per sample interval in which
+ * it was reached, and when it rises above the target (or threads queue for a connection without any
+ * being handed out) the limit is cut multiplicatively. Requests over the limit are shed instead of
+ * queueing for a connection.
+ * <p>
+ * Sampling piggybacks on admissions: whichever request finds the interval elapsed takes a
+ * {@code tryLock} and reads the pool meters, everybody else goes straight through.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DECREASE_FACTOR = 0.8;
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetWaitNanos;
+    private final long sampleIntervalNanos;
+
+    private volatile int limit;
+    private volatile boolean limitReached;
+    private volatile long nextSampleAt;
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${alertify.ratelimit.concurrency.initial-limit:40}") int initialLimit,
+                                      @Value("${alertify.ratelimit.concurrency.min-limit:5}") int minLimit,
+                                      @Value("${alertify.ratelimit.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${alertify.ratelimit.concurrency.target-pool-wait:20ms}") Duration targetPoolWait,
+                                      @Value("${alertify.ratelimit.concurrency.sample-interval:500ms}") Duration sampleInterval) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.meterRegistry = meterRegistry;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.targetWaitNanos = targetPoolWait.toNanos();
+        this.sampleIntervalNanos = sampleInterval.toNanos();
+        this.nextSampleAt = System.nanoTime() + sampleIntervalNanos;
+
+        Gauge.builder("alertify.ratelimit.concurrency.limit", this, limiter -> limiter.limit)
+                .description("Current adaptive limit on in-flight requests")
+                .register(meterRegistry);
+        Gauge.builder("alertify.ratelimit.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding an admission slot")
+                .register(meterRegistry);
+    }
+
+    /** Takes a slot; a {@code true} result must be paired with {@link #release()}. */
+    public boolean tryAcquire() {
+        sampleIfDue();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                limitReached = true;
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 == limit) {
+                    limitReached = true;
+                }
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    private void sampleIfDue() {
+        if (System.nanoTime() - nextSampleAt < 0 || !sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            if (System.nanoTime() - nextSampleAt >= 0) {
+                adjust(poolCongested());
+                nextSampleAt = System.nanoTime() + sampleIntervalNanos;
+            }
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    // Summed over every Hikari pool, so replicas or extra pools count towards the same signal
+    private boolean poolCongested() {
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long acquired = count - lastAcquireCount;
+        double waited = totalNanos - lastAcquireNanos;
+        lastAcquireCount = count;
+        lastAcquireNanos = totalNanos;
+
+        if (acquired > 0) {
+            return waited / acquired > targetWaitNanos;
+        }
+        double pending = 0;
+        for (Gauge gauge : meterRegistry.find("hikaricp.connections.pending").gauges()) {
+            pending += gauge.value();
+        }
+        return pending > 0;
+    }
+
+    void adjust(boolean congested) {
+        int current = limit;
+        if (congested) {
+            int reduced = Math.max(minLimit, (int) (current * DECREASE_FACTOR));
+            if (reduced < current) {
+                log.info("Database pool congested, lowering concurrency limit from {} to {}", current, reduced);
+            }
+            limit = reduced;
+        } else if (limitReached && current < maxLimit) {
+            limit = current + 1;
+        }
+        limitReached = false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.alertify.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets. Each bucket is a single {@link AtomicLong} holding the time at which it
+ * will be full again (the GCRA form of a token bucket), so taking tokens is one CAS and no lock.
+ * <p>
+ * Buckets live in a size-bounded Caffeine cache and expire once idle long enough to have refilled,
+ * so dropping one never grants a client more than a fresh bucket would. Under more distinct clients
+ * than {@code max-clients} the least valuable buckets are evicted and memory stays flat.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Ticker ticker;
+    private final long capacity;
+    private final long nanosPerToken;
+
+    @Autowired
+    public ClientRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${alertify.ratelimit.capacity:100}") long capacity,
+                             @Value("${alertify.ratelimit.refill-per-second:50}") long refillPerSecond,
+                             @Value("${alertify.ratelimit.max-clients:200000}") long maxClients) {
+        this(capacity, refillPerSecond, maxClients, Ticker.systemTicker());
+        // Tagged like the Spring-managed caches so all cache.* meters share one set of tag keys
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets",
+                Tags.of("cache.manager", "clientRateLimiter", "name", "rateLimitBuckets"));
+    }
+
+    ClientRateLimiter(long capacity, long refillPerSecond, long maxClients, Ticker ticker) {
+        if (capacity < 1 || refillPerSecond < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.ticker = ticker;
+        this.capacity = capacity;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / refillPerSecond;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(capacity * nanosPerToken, TimeUnit.SECONDS.toNanos(1))))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Takes {@code cost} tokens from the client's bucket.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until enough tokens will have refilled
+     */
+    public long tryAcquire(String client, int cost) {
+        AtomicLong fullAt = buckets.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long tokens = Math.min(cost, capacity);
+        long burst = capacity * nanosPerToken;
+        while (true) {
+            long now = ticker.read();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + tokens * nanosPerToken;
+            long overdraft = next - now - burst;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.alertify.ratelimit;
+
+import com.alertify.util.ClientKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the API, placed right after {@code AuthenticationTokenFilter}. A request first
+ * pays its endpoint's cost from the caller's token bucket (keyed by JWT subject, or by client address
+ * when unauthenticated) and is answered 429 when the bucket is short. It then needs a slot from the
+ * {@link AdaptiveConcurrencyLimiter} and is answered 503 when the database pool is saturated.
+ * <p>
+ * SSE streams and streaming exports release their slot once the handler has started async processing,
+ * so only the synchronous part of a request counts towards the concurrency limit.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final boolean enabled;
+    private final boolean concurrencyEnabled;
+    private final int pointReadCost;
+    private final int writeCost;
+    private final List<CostRule> costRules;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           MeterRegistry meterRegistry,
+                           @Value("${alertify.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${alertify.ratelimit.concurrency.enabled:true}") boolean concurrencyEnabled,
+                           @Value("${alertify.ratelimit.cost.point-read:1}") int pointReadCost,
+                           @Value("${alertify.ratelimit.cost.write:2}") int writeCost,
+                           @Value("${alertify.ratelimit.cost.search:5}") int searchCost,
+                           @Value("${alertify.ratelimit.cost.listing:10}") int listingCost,
+                           @Value("${alertify.ratelimit.cost.nested-listing:20}") int nestedListingCost,
+                           @Value("${alertify.ratelimit.cost.bulk:20}") int bulkCost,
+                           @Value("${alertify.ratelimit.cost.export:50}") int exportCost) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.enabled = enabled;
+        this.concurrencyEnabled = concurrencyEnabled;
+        this.pointReadCost = pointReadCost;
+        this.writeCost = writeCost;
+        // First match wins
+        this.costRules = List.of(
+                new CostRule(HttpMethod.GET, "/api/v1/*/export", exportCost),
+                new CostRule(HttpMethod.GET, "/api/v1/users/with-tasks", nestedListingCost),
+                new CostRule(HttpMethod.GET, "/api/v1/tasks/search", searchCost),
+                new CostRule(HttpMethod.GET, "/api/v1/tasks", listingCost),
+                new CostRule(HttpMethod.GET, "/api/v1/users", listingCost),
+                new CostRule(HttpMethod.GET, "/api/v1/users/task-stats", listingCost),
+                new CostRule(HttpMethod.GET, "/api/v1/changes", listingCost),
+                new CostRule(HttpMethod.GET, "/api/v1/recurring-tasks/occurrences", listingCost),
+                new CostRule(HttpMethod.GET, "/api/v1/recurring-tasks/*/occurrences", listingCost),
+                new CostRule(null, "/api/v1/*/bulk/**", bulkCost));
+        this.rateLimited = rejections(meterRegistry, "rate_limited");
+        this.overloaded = rejections(meterRegistry, "overloaded");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !pathWithinApplication(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long waitNanos = rateLimiter.tryAcquire(ClientKeys.of(request), cost(request));
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1),
+                    "Rate limit exceeded, retry later");
+            return;
+        }
+        if (!concurrencyEnabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, retry later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    int cost(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(pathWithinApplication(request));
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        for (CostRule rule : costRules) {
+            if ((rule.method() == null || rule.method() == method) && rule.pattern().matches(path)) {
+                return rule.cost();
+            }
+        }
+        return method == HttpMethod.GET || method == HttpMethod.HEAD ? pointReadCost : writeCost;
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("alertify.ratelimit.rejected")
+                .description("Requests refused by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record CostRule(HttpMethod method, PathPattern pattern, int cost) {
+        CostRule(HttpMethod method, String pattern, int cost) {
+            this(method, PARSER.parse(pattern), cost);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.alertify.repository;
+
+import com.alertify.enums.AlertType;
+import com.alertify.model.AlertCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AlertCheckpointRepository extends JpaRepository<AlertCheckpoint, AlertType> {
+
+    // Row lock serializes ticks across nodes so a batch is never dispatched twice concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from AlertCheckpoint c where c.type = :type")
+    Optional<AlertCheckpoint> findForUpdate(@Param("type") AlertType type);
+}
@@ -0,0 +1,20 @@
+package com.alertify.repository;
+
+import com.alertify.model.AlertLateArrival;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlertLateArrivalRepository extends JpaRepository<AlertLateArrival, Long> {
+
+    // Locked until dispatched and deleted, so two nodes never alert the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from AlertLateArrival a order by a.id")
+    List<AlertLateArrival> findBatchForUpdate(Limit limit);
+}
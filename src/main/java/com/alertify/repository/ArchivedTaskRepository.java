@@ -0,0 +1,56 @@
+package com.alertify.repository;
+
+import com.alertify.dto.EntityVersion;
+import com.alertify.dto.OccurrenceLink;
+import com.alertify.dto.TaskCountRow;
+import com.alertify.dto.TaskDTO;
+import com.alertify.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    @Query("select new com.alertify.dto.TaskDTO(a.id, a.title, a.description, a.priority, a.status, a.dueDate, a.userId, a.version, a.updatedAt) " +
+            "from ArchivedTask a where a.id = :id")
+    Optional<TaskDTO> findDTOById(@Param("id") Long id);
+
+    @Query("select new com.alertify.dto.TaskDTO(a.id, a.title, a.description, a.priority, a.status, a.dueDate, a.userId, a.version, a.updatedAt) " +
+            "from ArchivedTask a where a.id in :ids")
+    List<TaskDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.alertify.dto.EntityVersion(a.version, a.updatedAt) from ArchivedTask a where a.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.alertify.dto.OccurrenceLink(a.seriesId, a.occurrenceDate, a.id) from ArchivedTask a " +
+            "where a.seriesId in :seriesIds and a.occurrenceDate between :from and :to")
+    List<OccurrenceLink> findOccurrenceLinks(@Param("seriesIds") Collection<Long> seriesIds,
+                                             @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    boolean existsBySeriesIdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+
+    @Query("select a.id from ArchivedTask a where a.seriesId = :seriesId and a.occurrenceDate = :date")
+    Optional<Long> findIdBySeriesIdAndOccurrenceDate(@Param("seriesId") Long seriesId, @Param("date") LocalDate date);
+
+    // Archived tasks still count towards their owner's task counters
+    @Query("select new com.alertify.dto.TaskCountRow(a.userId, a.status, a.priority, count(a)) " +
+            "from ArchivedTask a where a.userId in :userIds group by a.userId, a.status, a.priority")
+    List<TaskCountRow> countByUserStatusPriority(@Param("userIds") Collection<Long> userIds);
+
+    // ArchivedTask always reports itself as new, so the inherited delete methods would skip it
+    @Modifying
+    @Query("delete from ArchivedTask a where a.id = :id")
+    int deleteArchivedById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from ArchivedTask a where a.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,27 @@
+package com.alertify.repository;
+
+import com.alertify.model.CancelledOccurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CancelledOccurrenceRepository extends JpaRepository<CancelledOccurrence, CancelledOccurrence.Key> {
+
+    @Query("select c from CancelledOccurrence c " +
+            "where c.id.seriesId in :seriesIds and c.id.occurrenceDate between :from and :to")
+    List<CancelledOccurrence> findInWindow(@Param("seriesIds") Collection<Long> seriesIds,
+                                           @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Cancelling an occurrence twice is not an error
+    @Modifying
+    @Query(value = "insert into cancelled_occurrences (series_id, occurrence_date) values (:seriesId, :date) " +
+            "on conflict do nothing", nativeQuery = true)
+    void insertIfAbsent(@Param("seriesId") Long seriesId, @Param("date") LocalDate date);
+}
@@ -0,0 +1,27 @@
+package com.alertify.repository;
+
+import com.alertify.model.OutboxRelayState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxRelayStateRepository extends JpaRepository<OutboxRelayState, String> {
+
+    // Row lock makes one relay at a time assign sequence numbers, so they follow publish order across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from OutboxRelayState s where s.name = :name")
+    Optional<OutboxRelayState> findForUpdate(@Param("name") String name);
+
+    // Resume checks compare against it, so it stays on the primary: a lagging replica would reject sequence
+    // numbers a client has just been sent as not yet published
+    @Override
+    @Transactional
+    Optional<OutboxRelayState> findById(String name);
+}
@@ -0,0 +1,26 @@
+package com.alertify.repository;
+
+import com.alertify.model.RecurringTask;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTaskRepository extends JpaRepository<RecurringTask, Long> {
+
+    // Serializes materialization of the series' occurrences
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RecurringTask r where r.id = :id")
+    Optional<RecurringTask> findByIdForUpdate(@Param("id") Long id);
+
+    // Series that can have occurrences on or before the end of a window
+    @Query("select r from RecurringTask r where r.user.id = :userId and r.startDate <= :to order by r.id")
+    List<RecurringTask> findStartedBy(@Param("userId") Long userId, @Param("to") LocalDate to);
+}
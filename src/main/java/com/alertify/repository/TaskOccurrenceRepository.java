@@ -0,0 +1,29 @@
+package com.alertify.repository;
+
+import com.alertify.dto.OccurrenceLink;
+import com.alertify.model.TaskOccurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskOccurrenceRepository extends JpaRepository<TaskOccurrence, Long> {
+
+    @Query("select new com.alertify.dto.OccurrenceLink(o.series.id, o.occurrenceDate, o.taskId) from TaskOccurrence o " +
+            "where o.series.id in :seriesIds and o.occurrenceDate between :from and :to")
+    List<OccurrenceLink> findLinks(@Param("seriesIds") Collection<Long> seriesIds,
+                                   @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select new com.alertify.dto.OccurrenceLink(o.series.id, o.occurrenceDate, o.taskId) from TaskOccurrence o " +
+            "where o.taskId in :taskIds")
+    List<OccurrenceLink> findLinksByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("select o.taskId from TaskOccurrence o where o.series.id = :seriesId and o.occurrenceDate = :date")
+    Optional<Long> findTaskId(@Param("seriesId") Long seriesId, @Param("date") LocalDate date);
+}
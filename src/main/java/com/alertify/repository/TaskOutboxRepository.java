@@ -0,0 +1,37 @@
+package com.alertify.repository;
+
+import com.alertify.enums.TaskChangeType;
+import com.alertify.model.TaskOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+
+    // Served by the partial index on unpublished rows, so the relay never walks the published history
+    @Query("select e from TaskOutboxEvent e where e.seq is null order by e.id")
+    List<TaskOutboxEvent> findUnpublished(Limit limit);
+
+    @Query("select e from TaskOutboxEvent e where e.seq > :after order by e.seq")
+    List<TaskOutboxEvent> findPublishedAfter(@Param("after") long after, Limit limit);
+
+    @Query("select e from TaskOutboxEvent e where e.seq > :after and e.type not in :excluded order by e.seq")
+    List<TaskOutboxEvent> findPublishedAfterExcluding(@Param("after") long after,
+                                                      @Param("excluded") Collection<TaskChangeType> excluded,
+                                                      Limit limit);
+
+    @Query("select min(e.seq) from TaskOutboxEvent e")
+    Long findOldestSeq();
+
+    @Modifying
+    @Query("delete from TaskOutboxEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,12 +1,102 @@
 package com.alertify.repository;
 
+import com.alertify.dto.EntityVersion;
+import com.alertify.dto.TaskCountKey;
+import com.alertify.dto.TaskCountRow;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.UserTaskCount;
+import com.alertify.enums.TaskStatus;
 import com.alertify.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-     List<Task> findByStatus(String status);
-}
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+     List<Task> findByStatus(TaskStatus status);
+
+     // Feeds the tasks cache, so it stays on the primary: a lagging replica could re-cache a state the last write evicted
+     @Override
+     @Transactional
+     Optional<Task> findById(Long id);
+
+     @Query("select new com.alertify.dto.TaskDTO(t.id, t.title, t.description, t.priority, t.status, t.dueDate, t.user.id, t.version, t.updatedAt) " +
+             "from Task t where t.user.id in :userIds order by t.user.id, t.id")
+     List<TaskDTO> findDTOsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+     // Keyset scan over open tasks in (due_date, id) order, served by the partial idx_tasks_open_due_date
+     @Query("select new com.alertify.dto.TaskDTO(t.id, t.title, t.description, t.priority, t.status, t.dueDate, t.user.id, t.version, t.updatedAt) " +
+             "from Task t where t.status <> com.alertify.enums.TaskStatus.COMPLETED " +
+             "and t.dueDate <= :upTo " +
+             "and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId)) " +
+             "order by t.dueDate, t.id")
+     List<TaskDTO> findOpenDueAfter(@Param("upTo") LocalDate upTo, @Param("afterDueDate") LocalDate afterDueDate,
+                                    @Param("afterId") Long afterId, Limit limit);
+
+     @Query("select new com.alertify.dto.TaskDTO(t.id, t.title, t.description, t.priority, t.status, t.dueDate, t.user.id, t.version, t.updatedAt) " +
+             "from Task t where t.id in :ids")
+     List<TaskDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
+
+     // Id order keeps concurrent flushes over overlapping tasks from deadlocking
+     @Lock(LockModeType.PESSIMISTIC_WRITE)
+     @Query("select new com.alertify.dto.TaskDTO(t.id, t.title, t.description, t.priority, t.status, t.dueDate, t.user.id, t.version, t.updatedAt) " +
+             "from Task t where t.id in :ids order by t.id")
+     List<TaskDTO> findDTOsByIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+     @Query("select new com.alertify.dto.EntityVersion(t.version, t.updatedAt) from Task t where t.id = :id")
+     Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+     // Locks the row so the counted properties cannot change between this read and the PATCH that follows
+     @Lock(LockModeType.PESSIMISTIC_WRITE)
+     @Query("select new com.alertify.dto.TaskCountKey(t.user.id, t.status, t.priority) from Task t where t.id = :id")
+     Optional<TaskCountKey> findCountKeyForUpdate(@Param("id") Long id);
+
+     @Query("select new com.alertify.dto.TaskCountRow(t.user.id, t.status, t.priority, count(t)) " +
+             "from Task t where t.user.id in :userIds group by t.user.id, t.status, t.priority")
+     List<TaskCountRow> countByUserStatusPriority(@Param("userIds") Collection<Long> userIds);
+
+     // Served by the partial idx_tasks_user_open_due_date
+     @Query("select new com.alertify.dto.UserTaskCount(t.user.id, count(t)) from Task t " +
+             "where t.user.id in :userIds and t.status <> com.alertify.enums.TaskStatus.COMPLETED " +
+             "and t.dueDate < :today group by t.user.id")
+     List<UserTaskCount> countOverdueByUserIds(@Param("userIds") Collection<Long> userIds,
+                                               @Param("today") LocalDate today);
+
+     // Completed tasks last written before the cutoff, oldest first, from the partial idx_tasks_completed_updated_at
+     @Query("select t.id from Task t where t.status = com.alertify.enums.TaskStatus.COMPLETED " +
+             "and t.updatedAt < :cutoff order by t.updatedAt, t.id")
+     List<Long> findArchivableIds(@Param("cutoff") Instant cutoff, Limit limit);
+
+     @Query("select t from Task t join fetch t.user where t.id in :ids")
+     List<Task> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+     // Must be consumed inside a transaction: the Postgres driver only honours the fetch size with autocommit off
+     @QueryHints({
+             @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+             @QueryHint(name = HINT_READ_ONLY, value = "true"),
+             @QueryHint(name = HINT_CACHEABLE, value = "false")
+     })
+     // Projection straight from the FK column: no User rows or entities are loaded for the export
+     @Query("select new com.alertify.dto.TaskDTO(t.id, t.title, t.description, t.priority, t.status, t.dueDate, t.user.id, t.version, t.updatedAt) " +
+             "from Task t order by t.id")
+     Stream<TaskDTO> streamAllDTOs();
+}
+
@@ -0,0 +1,41 @@
+package com.alertify.repository;
+
+import com.alertify.dto.CoalescedTaskWrite;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskFilter;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.TaskSearchHit;
+import com.alertify.enums.TaskSortKey;
+import com.alertify.util.TaskCursor;
+import com.alertify.util.TaskSearchCursor;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Keyset-paginated listing: returns at most {@code limit} rows strictly after {@code after}
+     * (or from the start when it is null), ordered by the given sort key with {@code id} as tie-breaker.
+     */
+    List<TaskDTO> findPage(TaskFilter filter, TaskSortKey sortKey, TaskCursor after, int limit);
+
+    /**
+     * Applies the fields present in {@code patch} with a single {@code UPDATE ... WHERE id = ? AND version = ?},
+     * bumping the version. A null {@code expectedVersion} skips the version check. Returns the updated row count.
+     */
+    int applyPatch(Long id, Long expectedVersion, TaskPatchDTO patch);
+
+    /**
+     * Applies coalesced writes as JDBC batches, one statement for full updates and one for owner-only changes,
+     * bumping each task's version once. Returns the updated row count of each write, in order.
+     */
+    int[] applyWrites(List<CoalescedTaskWrite> writes, Instant updatedAt);
+
+    /**
+     * Full-text search over title and description through the GIN-indexed {@code search_vector} (Postgres only).
+     * Keeps the {@code maxCandidates} best-ranked matching rows and returns up to {@code limit} of them after
+     * {@code after}, ordered by rank descending, then id.
+     */
+    List<TaskSearchHit> search(String tsQuery, TaskFilter filter, TaskSearchCursor after, int limit, int maxCandidates);
+}
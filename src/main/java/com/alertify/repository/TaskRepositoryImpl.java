@@ -0,0 +1,265 @@
+package com.alertify.repository;
+
+import com.alertify.dto.CoalescedTaskWrite;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskFilter;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.TaskPatchDTO.Field;
+import com.alertify.dto.TaskSearchHit;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskSortKey;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.util.TaskCursor;
+import com.alertify.util.TaskSearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDTO> findPage(TaskFilter filter, TaskSortKey sortKey, TaskCursor after, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> query = cb.createQuery(TaskDTO.class);
+        Root<Task> task = query.from(Task.class);
+        Path<Long> id = task.get("id");
+        Path<LocalDate> dueDate = task.get("dueDate");
+
+        // Project straight into the DTO; user.id resolves to the user_id column without a join
+        query.select(cb.construct(TaskDTO.class, id, task.get("title"), task.get("description"),
+                task.get("priority"), task.get("status"), dueDate, task.get("user").get("id"), task.get("version"),
+                task.get("updatedAt")));
+
+        List<Predicate> predicates = filterPredicates(cb, task, filter);
+        if (after != null) {
+            predicates.add(sortKey == TaskSortKey.DUE_DATE
+                    ? afterDueDate(cb, dueDate, id, after)
+                    : cb.greaterThan(id, after.getId()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        if (sortKey == TaskSortKey.DUE_DATE) {
+            query.orderBy(cb.asc(dueDate, false), cb.asc(id));
+        } else {
+            query.orderBy(cb.asc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int applyPatch(Long id, Long expectedVersion, TaskPatchDTO patch) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        Path<Long> version = task.get("version");
+
+        // Only the supplied columns are written; the rest of the row is left to concurrent editors
+        if (patch.has(Field.TITLE)) {
+            update.set(task.get("title"), patch.getTitle());
+        }
+        if (patch.has(Field.DESCRIPTION)) {
+            update.set(task.get("description"), patch.getDescription());
+        }
+        if (patch.has(Field.PRIORITY)) {
+            update.set(task.get("priority"), patch.getPriority());
+        }
+        if (patch.has(Field.STATUS)) {
+            update.set(task.get("status"), patch.getStatus());
+        }
+        if (patch.has(Field.DUE_DATE)) {
+            update.set(task.get("dueDate"), patch.getDueDate());
+        }
+        if (patch.has(Field.USER_ID)) {
+            update.set(task.get("user"), entityManager.getReference(User.class, patch.getUserId()));
+        }
+        update.set(version, cb.sum(version, 1L));
+        update.set(task.get("updatedAt"), Instant.now());
+
+        Predicate byId = cb.equal(task.get("id"), id);
+        update.where(expectedVersion != null ? cb.and(byId, cb.equal(version, expectedVersion)) : byId);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int[] applyWrites(List<CoalescedTaskWrite> writes, Instant updatedAt) {
+        int[] updated = new int[writes.size()];
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement full = connection.prepareStatement(APPLY_UPDATE_SQL);
+                 PreparedStatement ownerOnly = connection.prepareStatement(APPLY_ASSIGN_SQL)) {
+                List<Integer> fullIndexes = new ArrayList<>();
+                List<Integer> ownerOnlyIndexes = new ArrayList<>();
+                Timestamp now = Timestamp.from(updatedAt);
+                for (int i = 0; i < writes.size(); i++) {
+                    CoalescedTaskWrite write = writes.get(i);
+                    TaskDTO fields = write.replacement();
+                    if (fields != null) {
+                        full.setString(1, fields.title());
+                        full.setString(2, fields.description());
+                        setEnum(full, 3, fields.priority());
+                        // Same default as Task.defaultStatus() on a PUT without a status
+                        setEnum(full, 4, fields.status() != null ? fields.status() : TaskStatus.TODO);
+                        full.setObject(5, fields.dueDate(), Types.DATE);
+                        full.setObject(6, write.userId(), Types.BIGINT);
+                        full.setTimestamp(7, now);
+                        full.setLong(8, write.taskId());
+                        full.addBatch();
+                        fullIndexes.add(i);
+                    } else {
+                        ownerOnly.setLong(1, write.userId());
+                        ownerOnly.setTimestamp(2, now);
+                        ownerOnly.setLong(3, write.taskId());
+                        ownerOnly.addBatch();
+                        ownerOnlyIndexes.add(i);
+                    }
+                }
+                scatter(fullIndexes.isEmpty() ? new int[0] : full.executeBatch(), fullIndexes, updated);
+                scatter(ownerOnlyIndexes.isEmpty() ? new int[0] : ownerOnly.executeBatch(), ownerOnlyIndexes, updated);
+            }
+        });
+        return updated;
+    }
+
+    private static final String APPLY_UPDATE_SQL = "update tasks set title = ?, description = ?, priority = ?, status = ?, "
+            + "due_date = ?, user_id = coalesce(?, user_id), version = version + 1, updated_at = ? where id = ?";
+    private static final String APPLY_ASSIGN_SQL =
+            "update tasks set user_id = ?, version = version + 1, updated_at = ? where id = ?";
+
+    // Enum names bound as varchar, like Hibernate does; Postgres casts them to its enum types implicitly
+    private static void setEnum(PreparedStatement statement, int index, Enum<?> value) throws SQLException {
+        if (value != null) {
+            statement.setString(index, value.name());
+        } else {
+            statement.setNull(index, Types.VARCHAR);
+        }
+    }
+
+    // Drivers may report SUCCESS_NO_INFO (-2) instead of a row count for batched statements
+    private static void scatter(int[] counts, List<Integer> indexes, int[] updated) {
+        for (int i = 0; i < counts.length; i++) {
+            updated[indexes.get(i)] = counts[i] == PreparedStatement.SUCCESS_NO_INFO ? 1 : counts[i];
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskSearchHit> search(String tsQuery, TaskFilter filter, TaskSearchCursor after, int limit, int maxCandidates) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("query", tsQuery);
+        StringBuilder where = new StringBuilder("t.search_vector @@ q");
+        if (filter != null) {
+            appendFilter(where, parameters, "t.status = :status", "status", filter.status() != null ? filter.status().name() : null);
+            appendFilter(where, parameters, "t.priority = :priority", "priority", filter.priority() != null ? filter.priority().name() : null);
+            appendFilter(where, parameters, "t.user_id = :userId", "userId", filter.userId());
+            appendFilter(where, parameters, "t.due_date >= :dueFrom", "dueFrom", filter.dueFrom());
+            appendFilter(where, parameters, "t.due_date <= :dueTo", "dueTo", filter.dueTo());
+        }
+        String afterClause = "";
+        if (after != null) {
+            afterClause = "WHERE c.rank < :afterRank OR (c.rank = :afterRank AND c.id > :afterId) ";
+            parameters.put("afterRank", after.getRank());
+            parameters.put("afterId", after.getId());
+        }
+
+        // The GIN index finds the matches; they are ranked and only the best maxCandidates are kept, with a
+        // top-N sort rather than a full one. Ordering them the same way as the pages keeps the candidate set
+        // stable, so every page is cut from the same results and search cannot page deeper than maxCandidates
+        String sql = "SELECT c.* FROM (" +
+                "SELECT t.id, t.title, t.description, CAST(t.priority AS varchar) AS priority, " +
+                "CAST(t.status AS varchar) AS status, t.due_date, t.user_id, t.version, t.updated_at, " +
+                "ts_rank(t.search_vector, q) AS rank " +
+                "FROM tasks t CROSS JOIN to_tsquery('english', :query) AS q " +
+                "WHERE " + where + " ORDER BY rank DESC, t.id LIMIT :maxCandidates) c " +
+                afterClause +
+                "ORDER BY c.rank DESC, c.id LIMIT :limit";
+        parameters.put("maxCandidates", maxCandidates);
+        parameters.put("limit", limit);
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("status", String.class)
+                .addScalar("due_date", LocalDate.class)
+                .addScalar("user_id", Long.class)
+                .addScalar("version", Long.class)
+                .addScalar("updated_at", Instant.class)
+                .addScalar("rank", Float.class);
+        parameters.forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(row -> new TaskSearchHit(new TaskDTO((Long) row[0], (String) row[1], (String) row[2],
+                        row[3] != null ? TaskPriority.valueOf((String) row[3]) : null,
+                        TaskStatus.valueOf((String) row[4]), (LocalDate) row[5], (Long) row[6], (Long) row[7],
+                        (Instant) row[8]), (Float) row[9]))
+                .toList();
+    }
+
+    private static void appendFilter(StringBuilder where, Map<String, Object> parameters, String condition,
+                                     String name, Object value) {
+        if (value != null) {
+            where.append(" AND ").append(condition);
+            parameters.put(name, value);
+        }
+    }
+
+    private List<Predicate> filterPredicates(HibernateCriteriaBuilder cb, Root<Task> task, TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(task.get("priority"), filter.priority()));
+        }
+        if (filter.userId() != null) {
+            predicates.add(cb.equal(task.get("user").get("id"), filter.userId()));
+        }
+        if (filter.dueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), filter.dueFrom()));
+        }
+        if (filter.dueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(task.get("dueDate"), filter.dueTo()));
+        }
+        return predicates;
+    }
+
+    // Rows are ordered (due_date ASC NULLS LAST, id ASC), so "after" has to account for the null tail
+    private Predicate afterDueDate(HibernateCriteriaBuilder cb, Path<LocalDate> dueDate, Path<Long> id, TaskCursor after) {
+        if (after.getDueDate() == null) {
+            return cb.and(cb.isNull(dueDate), cb.greaterThan(id, after.getId()));
+        }
+        return cb.or(
+                cb.greaterThan(dueDate, after.getDueDate()),
+                cb.and(cb.equal(dueDate, after.getDueDate()), cb.greaterThan(id, after.getId())),
+                cb.isNull(dueDate));
+    }
+}
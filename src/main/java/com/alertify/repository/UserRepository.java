@@ -1,13 +1,55 @@
 package com.alertify.repository;
 
 
+import com.alertify.dto.EntityVersion;
+import com.alertify.dto.UserSummary;
+import com.alertify.dto.UserTasksVersion;
 import com.alertify.model.User;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // Feeds the users cache, so it stays on the primary like TaskRepository.findById
+    @Override
+    @Transactional
+    Optional<User> findById(Long id);
+
+    List<UserSummary> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    long countByIdIn(Collection<Long> ids);
+
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.alertify.dto.EntityVersion(u.version, u.updatedAt) from User u where u.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select count(t.id) as taskCount, max(u.updatedAt) as usersUpdatedAt, max(t.updatedAt) as tasksUpdatedAt " +
+            "from User u left join u.tasks t where u.id in :ids")
+    UserTasksVersion findUserTasksVersion(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<UserSummary> streamAllByOrderByIdAsc();
 }
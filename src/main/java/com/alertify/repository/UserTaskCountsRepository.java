@@ -0,0 +1,46 @@
+package com.alertify.repository;
+
+import com.alertify.model.UserTaskCounts;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserTaskCountsRepository extends JpaRepository<UserTaskCounts, Long> {
+
+    // Relative update: concurrent writers queue on the row lock instead of overwriting each other
+    @Modifying
+    @Query("update UserTaskCounts c set c.todo = c.todo + :todo, c.inProgress = c.inProgress + :inProgress, " +
+            "c.completed = c.completed + :completed, c.lowPriority = c.lowPriority + :low, " +
+            "c.mediumPriority = c.mediumPriority + :medium, c.highPriority = c.highPriority + :high, " +
+            "c.updatedAt = :now where c.userId = :userId")
+    int increment(@Param("userId") Long userId, @Param("todo") long todo, @Param("inProgress") long inProgress,
+                  @Param("completed") long completed, @Param("low") long low, @Param("medium") long medium,
+                  @Param("high") long high, @Param("now") Instant now);
+
+    // Safe under concurrency: a second writer creating the same row waits and then does nothing
+    @Modifying
+    @Query(value = "insert into user_task_counts (user_id, todo, in_progress, completed, low_priority, " +
+            "medium_priority, high_priority, updated_at) values (:userId, 0, 0, 0, 0, 0, 0, :now) " +
+            "on conflict do nothing", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId, @Param("now") Instant now);
+
+    // Zero rows for those of the users that have none yet, skipping users deleted in the meantime
+    @Modifying
+    @Query(value = "insert into user_task_counts (user_id, todo, in_progress, completed, low_priority, " +
+            "medium_priority, high_priority, updated_at) select u.id, 0, 0, 0, 0, 0, 0, :now from users u " +
+            "where u.id in (:userIds) on conflict do nothing", nativeQuery = true)
+    void insertAllIfAbsent(@Param("userIds") Collection<Long> userIds, @Param("now") Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from UserTaskCounts c where c.userId in :userIds")
+    List<UserTaskCounts> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,40 @@
+package com.alertify.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    /**
+     * Encodes with the configured algorithm and prefixes the hash with its id ({bcrypt}, {argon2}),
+     * so the algorithm or cost can change without invalidating stored hashes. Un-prefixed hashes
+     * written before the prefix existed are matched as BCrypt. Every call is timed per algorithm.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${alertify.security.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${alertify.security.password.bcrypt-strength:10}") int bcryptStrength,
+                                           MeterRegistry meterRegistry) {
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new TimedPasswordEncoder(encoder, algorithm, BCRYPT, List.of(BCRYPT, ARGON2), meterRegistry);
+    }
+}
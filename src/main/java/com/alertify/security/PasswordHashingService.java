@@ -0,0 +1,90 @@
+package com.alertify.security;
+
+import com.alertify.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small dedicated pool so CPU-heavy hashing cannot starve request threads.
+ * The queue is bounded: when it is full callers get a {@link TooManyRequestsException} (HTTP 429).
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${alertify.security.password.hashing-threads:0}") int threads,
+                                  @Value("${alertify.security.password.hashing-queue-capacity:64}") int queueCapacity,
+                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Pool size, queue depth and completed tasks as executor.* gauges
+        new ExecutorServiceMetrics(executor, "password-hashing", List.of()).bindTo(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return join(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Hashes all passwords in parallel, one chunk per hashing thread, preserving input order.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int chunks = Math.min(executor.getMaximumPoolSize(), rawPasswords.size());
+        int chunkSize = (rawPasswords.size() + chunks - 1) / Math.max(chunks, 1);
+
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < rawPasswords.size(); from += chunkSize) {
+            List<String> chunk = rawPasswords.subList(from, Math.min(from + chunkSize, rawPasswords.size()));
+            futures.add(submit(() -> chunk.stream().map(passwordEncoder::encode).toList()));
+        }
+
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        futures.forEach(future -> encoded.addAll(join(future)));
+        return encoded;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Password hashing capacity exceeded, retry later");
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,79 @@
+package com.alertify.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Times encode and matches per algorithm. Matches are attributed to the algorithm of the stored hash,
+ * which may differ from the one new hashes are written with.
+ */
+class TimedPasswordEncoder implements PasswordEncoder {
+
+    private static final String TIMER = "alertify.password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final String defaultMatchesAlgorithm;
+    private final Timer encodeTimer;
+    private final Map<String, Timer> matchesTimers;
+
+    TimedPasswordEncoder(PasswordEncoder delegate, String encodeAlgorithm, String defaultMatchesAlgorithm,
+                         List<String> algorithms, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.defaultMatchesAlgorithm = defaultMatchesAlgorithm;
+        this.encodeTimer = timer(meterRegistry, "encode", encodeAlgorithm);
+        this.matchesTimers = algorithms.stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), id -> timer(meterRegistry, "matches", id)));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer timer = matchesTimers.getOrDefault(algorithmOf(encodedPassword), matchesTimers.get(defaultMatchesAlgorithm));
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String algorithmOf(String encodedPassword) {
+        if (encodedPassword != null && encodedPassword.startsWith("{")) {
+            int end = encodedPassword.indexOf('}');
+            if (end > 0) {
+                return encodedPassword.substring(1, end);
+            }
+        }
+        return defaultMatchesAlgorithm;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String algorithm) {
+        return Timer.builder(TIMER)
+                .description("Password hashing and verification time")
+                .tag("operation", operation)
+                .tag("algorithm", algorithm)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.alertify.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of {@link UserDetails} by username so authenticated requests skip the user lookup.
+ * Hit/miss counts are published as the {@code cache.gets} metric with {@code cache=userDetails}, tagged
+ * like the Spring-managed caches.
+ */
+@Component
+public class UserDetailsCache {
+
+    // Bumped by every evict of a username hashing to the slot; a load only fills the cache if its slot did not move
+    private static final int GENERATION_SLOTS = 64;
+
+    private final Cache<String, UserDetails> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${alertify.security.user-details-cache.ttl:60s}") Duration ttl,
+                            @Value("${alertify.security.user-details-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        // Same tag keys as the Spring caches bound by Boot, or Prometheus rejects one of the two sets
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails",
+                Tags.of("cache.manager", "userDetailsCache", "name", "userDetails"));
+    }
+
+    // Loads outside the cache's compute lock: a JDBC call inside it would pin a virtual thread's carrier
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        int slot = slot(username);
+        long generation = generations.get(slot);
+        UserDetails loaded = loader.apply(username);
+        // A load that overlapped an evict may have read the revoked row: serve it once, but do not cache it
+        cache.asMap().compute(username, (key, existing) -> generations.get(slot) == generation ? loaded : existing);
+        return loaded;
+    }
+
+    /**
+     * Evicts now and, when called inside a transaction, again after commit so a concurrent
+     * request cannot re-cache the pre-commit state.
+     */
+    public void evict(String username) {
+        invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(username);
+                }
+            });
+        }
+    }
+
+    // Generation first: a fill racing with this either sees the bump and skips, or lands before the invalidate
+    private void invalidate(String username) {
+        generations.incrementAndGet(slot(username));
+        cache.invalidate(username);
+    }
+
+    private static int slot(String username) {
+        return Math.floorMod(username.hashCode(), GENERATION_SLOTS);
+    }
+}
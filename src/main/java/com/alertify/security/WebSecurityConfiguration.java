@@ -1,5 +1,6 @@
 package com.alertify.security;
 
+import com.alertify.ratelimit.RateLimitFilter;
 import com.alertify.security.jwt.AuthenticationTokenFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -28,6 +29,7 @@ public class WebSecurityConfiguration {
     };
 
     private final AuthenticationTokenFilter authenticationTokenFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -38,7 +40,8 @@ public class WebSecurityConfiguration {
                         .requestMatchers(SWAGGER_WHITELIST).permitAll()
                         .anyRequest().permitAll()
                 )
-                .addFilterBefore(authenticationTokenFilter, UsernamePasswordAuthenticationFilter.class); // Keep authentication filter
+                .addFilterBefore(authenticationTokenFilter, UsernamePasswordAuthenticationFilter.class) // Keep authentication filter
+                .addFilterAfter(rateLimitFilter, AuthenticationTokenFilter.class); // Limits by the authenticated subject
 
         return http.build();
     }
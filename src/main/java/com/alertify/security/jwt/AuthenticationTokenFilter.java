@@ -1,10 +1,12 @@
 package com.alertify.security.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,29 +15,61 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class AuthenticationTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final Timer noTokenTimer;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+
+    public AuthenticationTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.noTokenTimer = timer(meterRegistry, "none");
+        this.authenticatedTimer = timer(meterRegistry, "authenticated");
+        this.rejectedTimer = timer(meterRegistry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        // Only the token work is timed, not the rest of the chain
+        long start = System.nanoTime();
+        Timer outcome = authenticate(request);
+        outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Timer authenticate(HttpServletRequest request) {
         String token = jwtUtils.extractToken(request);
-        if (token != null && jwtUtils.isTokenValid(token)) {
-            String username = jwtUtils.extractUsername(token);
+        if (token == null) {
+            return noTokenTimer;
+        }
+        Claims claims = jwtUtils.parseValidClaims(token);
+        if (claims != null) {
+            String username = claims.getSubject();
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
             var authentication = new JwtAuthenticationToken(userDetails, token, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            return authenticatedTimer;
         }
+        return rejectedTimer;
+    }
 
-        filterChain.doFilter(request, response);
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("alertify.jwt.filter")
+                .description("Time spent validating the bearer token and loading its user")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
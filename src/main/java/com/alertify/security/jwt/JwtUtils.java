@@ -1,14 +1,20 @@
 package com.alertify.security.jwt;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
@@ -16,6 +22,24 @@ public class JwtUtils {
     private static final Key SECRET_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_STRING));
     private static final String BEARER_PREFIX = "get";
 
+    // Built once: JwtParser is immutable and thread-safe
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
+    // Tokens whose signature has already been verified, each evicted no later than its own expiry; null when disabled
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtils(@Value("${alertify.jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize) {
+        // A size-0 Caffeine cache still serves entries until its asynchronous eviction runs, so 0 means no cache at all
+        this.verifiedTokens = verifiedTokenCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedTokenCacheSize)
+                        .expireAfter(new TokenExpiry())
+                        .build()
+                : null;
+    }
+
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
@@ -32,37 +56,62 @@ public class JwtUtils {
         return null;
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Parses, verifies and expiry-checks the token in one pass.
+     * Returns null when the token is malformed, badly signed or expired.
+     */
+    public Claims parseValidClaims(String token) {
+        Claims cached = verifiedTokens != null ? verifiedTokens.getIfPresent(token) : null;
+        if (cached != null) {
+            return isExpired(cached) ? null : cached;
+        }
         try {
-            String username = extractUsername(token);
-            return (!isTokenExpired(token));
-        } catch (SignatureException | IllegalArgumentException e) {
-            return false; // Token is invalid
+            Claims claims = jwtParser.parseClaimsJws(token).getBody(); // also rejects expired tokens
+            if (verifiedTokens != null) {
+                verifiedTokens.put(token, claims);
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null; // Token is invalid
         }
     }
 
-    // Check if the token is expired
-    private boolean isTokenExpired(String token) {
-        Date expiration = extractExpiration(token);
-        return expiration.before(new Date());
+    public boolean isTokenValid(String token) {
+        return parseValidClaims(token) != null;
     }
 
-    // Extract expiration date from token
-    private Date extractExpiration(String token) {
-        return extractClaims(token).getExpiration();
+    // Extract username from token
+    public String extractUsername(String token) {
+        Claims claims = parseValidClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
-    // Extract Claims (payload) from token
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
-    // Extract username from token
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        private static final long NO_EXPIRY_TTL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return NO_EXPIRY_TTL_NANOS;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
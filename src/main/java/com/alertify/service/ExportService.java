@@ -0,0 +1,139 @@
+package com.alertify.service;
+
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.UserSummary;
+import com.alertify.enums.ExportFormat;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Row-by-row exports. Each method holds one read-only transaction open for the duration of the
+ * cursor and never materializes more than one fetch batch, so memory stays flat regardless of table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final int BATCH_SIZE = 500; // matches the fetch size hint on the streaming queries
+    private static final String TASK_CSV_HEADER = "id,title,description,priority,status,dueDate,userId";
+    private static final String USER_CSV_HEADER = "id,username,email";
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TaskDTO> tasks = taskRepository.streamAllDTOs()) {
+            Iterator<TaskDTO> rows = tasks.iterator();
+            if (format == ExportFormat.CSV) {
+                writeCsv(out, TASK_CSV_HEADER, rows, (writer, task) -> writeCsvRow(writer,
+                        task.id(), task.title(), task.description(), task.priority(),
+                        task.status(), task.dueDate(), task.userId()));
+            } else {
+                writeNdjson(out, rows);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<UserSummary> users = userRepository.streamAllByOrderByIdAsc()) {
+            Iterator<UserSummary> rows = users.iterator();
+            if (format == ExportFormat.CSV) {
+                writeCsv(out, USER_CSV_HEADER, rows, (writer, user) -> writeCsvRow(writer,
+                        user.getId(), user.getUsername(), user.getEmail()));
+            } else {
+                writeNdjson(out, rows);
+            }
+        }
+    }
+
+    private <T> void writeNdjson(OutputStream out, Iterator<T> rows) throws IOException {
+        SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+        long count = 0;
+        while (rows.hasNext()) {
+            writer.write(rows.next());
+            if (++count % BATCH_SIZE == 0) {
+                endBatch(writer::flush);
+            }
+        }
+        writer.close();
+        out.write('\n');
+        out.flush();
+    }
+
+    private <T> void writeCsv(OutputStream out, String header, Iterator<T> rows, CsvRowWriter<T> rowWriter)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(header);
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            rowWriter.write(writer, rows.next());
+            if (++count % BATCH_SIZE == 0) {
+                endBatch(writer::flush);
+            }
+        }
+        writer.flush();
+    }
+
+    // Push the batch to the client and drop the rows already written from the persistence context
+    private void endBatch(IoAction flush) throws IOException {
+        flush.run();
+        entityManager.clear();
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface CsvRowWriter<T> {
+        void write(Writer writer, T row) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
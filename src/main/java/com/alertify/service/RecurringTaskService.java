@@ -0,0 +1,257 @@
+package com.alertify.service;
+
+import com.alertify.dto.OccurrenceLink;
+import com.alertify.dto.RecurringTaskDTO;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskOccurrenceDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.TaskPatchDTO.Field;
+import com.alertify.exceptions.ConflictException;
+import com.alertify.exceptions.PreconditionFailedException;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.mapper.DtoMapper;
+import com.alertify.model.CancelledOccurrence;
+import com.alertify.model.RecurringTask;
+import com.alertify.model.TaskOccurrence;
+import com.alertify.model.User;
+import com.alertify.repository.ArchivedTaskRepository;
+import com.alertify.repository.CancelledOccurrenceRepository;
+import com.alertify.repository.RecurringTaskRepository;
+import com.alertify.repository.TaskOccurrenceRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.util.RecurrenceRule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring tasks. Occurrences are expanded from the rule for the requested window on every read; an
+ * occurrence becomes a stored task only when it is first modified, through the regular task create path,
+ * so counters, change events and due-date alerts see it like any other task. Deleting an occurrence, or the
+ * task stored for it, records a {@link CancelledOccurrence} that removes the date from the series.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringTaskService {
+
+    private final RecurringTaskRepository recurringTaskRepository;
+    private final TaskOccurrenceRepository occurrenceRepository;
+    private final CancelledOccurrenceRepository cancelledOccurrenceRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserRepository userRepository;
+    private final TaskService taskService;
+
+    private static final int MAX_WINDOW_DAYS = 366;
+    private static final int MAX_OCCURRENCES = 10_000;
+
+    @Transactional
+    public RecurringTaskDTO createRecurringTask(RecurringTaskDTO seriesDTO) {
+        if (seriesDTO.title() == null || seriesDTO.title().isBlank()) {
+            throw new IllegalArgumentException("Task title cannot be blank");
+        }
+        if (seriesDTO.startDate() == null) {
+            throw new IllegalArgumentException("Recurring task needs a start date");
+        }
+        String rule = RecurrenceRule.parse(seriesDTO.rule()).format();
+        User user = userRepository.findById(seriesDTO.userId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + seriesDTO.userId()));
+
+        return DtoMapper.toDTO(recurringTaskRepository.save(DtoMapper.toEntity(seriesDTO, rule, user)));
+    }
+
+    @Transactional(readOnly = true)
+    public RecurringTaskDTO getRecurringTask(Long id) {
+        return DtoMapper.toDTO(findSeries(id));
+    }
+
+    /**
+     * Stops the series. Occurrences that were already materialized stay, as ordinary tasks.
+     */
+    @Transactional
+    public void deleteRecurringTask(Long id) {
+        recurringTaskRepository.delete(findSeries(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskOccurrenceDTO> getOccurrences(Long seriesId, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        return expand(List.of(findSeries(seriesId)), from, to);
+    }
+
+    // Every series of the user, merged in date order: the user's recurring agenda for the window
+    @Transactional(readOnly = true)
+    public List<TaskOccurrenceDTO> getUserOccurrences(Long userId, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id " + userId);
+        }
+        return expand(recurringTaskRepository.findStartedBy(userId, to), from, to);
+    }
+
+    /**
+     * Applies the patch to one occurrence, storing it as a task first if this is its first modification.
+     * A stored occurrence is patched like any task, honouring {@code expectedVersion}; a computed one has
+     * no version yet, so only an absent or {@code *} If-Match applies to it. Returns the task id.
+     */
+    @Transactional
+    public Long patchOccurrence(Long seriesId, LocalDate date, Long expectedVersion, TaskPatchDTO patch) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch must contain at least one field");
+        }
+        // The series lock makes concurrent first modifications of one occurrence take turns
+        RecurringTask series = recurringTaskRepository.findByIdForUpdate(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring task not found with id " + seriesId));
+        checkOccurs(series, date);
+
+        Optional<Long> taskId = occurrenceRepository.findTaskId(seriesId, date);
+        if (taskId.isPresent()) {
+            taskService.patchTask(taskId.get(), expectedVersion, patch);
+            return taskId.get();
+        }
+        // Otherwise the archived occurrence would be computed again and stored a second time
+        if (archivedTaskRepository.existsBySeriesIdAndOccurrenceDate(seriesId, date)) {
+            throw new ConflictException("Occurrence of recurring task " + seriesId + " on " + date
+                    + " is archived and can no longer be modified");
+        }
+        if (expectedVersion != null) {
+            throw new PreconditionFailedException("Occurrence of recurring task " + seriesId + " on " + date
+                    + " has not been modified yet");
+        }
+
+        TaskDTO created = taskService.createTask(patched(DtoMapper.toOccurrence(series, date), patch));
+        occurrenceRepository.save(new TaskOccurrence(null, taskRepository.getReferenceById(created.id()), series, date));
+        return created.id();
+    }
+
+    /**
+     * The task stored for the occurrence, if it was modified. Read-write so the lookup sees a link created
+     * just before, as callers use it to flush queued writes to that task.
+     */
+    @Transactional
+    public Optional<Long> findOccurrenceTaskId(Long seriesId, LocalDate date) {
+        return occurrenceRepository.findTaskId(seriesId, date);
+    }
+
+    /**
+     * Removes one occurrence from the series. A stored occurrence is deleted as a task; either way the date
+     * is recorded as cancelled, so it is not computed again.
+     */
+    @Transactional
+    public void deleteOccurrence(Long seriesId, LocalDate date) {
+        RecurringTask series = recurringTaskRepository.findByIdForUpdate(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring task not found with id " + seriesId));
+        checkOccurs(series, date);
+
+        // The stored or archived task is deleted like any task, which cancels its date
+        Optional<Long> taskId = occurrenceRepository.findTaskId(seriesId, date)
+                .or(() -> archivedTaskRepository.findIdBySeriesIdAndOccurrenceDate(seriesId, date));
+        if (taskId.isPresent()) {
+            taskService.deleteTask(taskId.get());
+        } else {
+            cancelledOccurrenceRepository.insertIfAbsent(seriesId, date);
+        }
+    }
+
+    private void checkOccurs(RecurringTask series, LocalDate date) {
+        if (!RecurrenceRule.parse(series.getRule()).occursOn(series.getStartDate(), date)
+                || cancelledOccurrenceRepository.existsById(new CancelledOccurrence.Key(series.getId(), date))) {
+            throw new ResourceNotFoundException("Recurring task " + series.getId() + " has no occurrence on " + date);
+        }
+    }
+
+    private List<TaskOccurrenceDTO> expand(List<RecurringTask> seriesList, LocalDate from, LocalDate to) {
+        if (seriesList.isEmpty()) {
+            return List.of();
+        }
+        List<Long> seriesIds = seriesList.stream().map(RecurringTask::getId).toList();
+        Map<OccurrenceKey, Long> linkedTasks = occurrenceRepository.findLinks(seriesIds, from, to).stream()
+                .collect(Collectors.toMap(link -> new OccurrenceKey(link.seriesId(), link.occurrenceDate()),
+                        OccurrenceLink::taskId, (first, second) -> first, HashMap::new));
+        Map<Long, TaskDTO> storedTasks = new HashMap<>();
+        if (!linkedTasks.isEmpty()) {
+            taskRepository.findDTOsByIds(linkedTasks.values()).forEach(task -> storedTasks.put(task.id(), task));
+        }
+        // Archived occurrences stay materialized, read from the archive
+        Set<OccurrenceKey> cancelled = cancelledOccurrenceRepository.findInWindow(seriesIds, from, to).stream()
+                .map(occurrence -> new OccurrenceKey(occurrence.getId().getSeriesId(), occurrence.getId().getOccurrenceDate()))
+                .collect(Collectors.toSet());
+        List<OccurrenceLink> archivedLinks = archivedTaskRepository.findOccurrenceLinks(seriesIds, from, to);
+        if (!archivedLinks.isEmpty()) {
+            archivedLinks.forEach(link -> linkedTasks.put(new OccurrenceKey(link.seriesId(), link.occurrenceDate()),
+                    link.taskId()));
+            archivedTaskRepository.findDTOsByIds(archivedLinks.stream().map(OccurrenceLink::taskId).toList())
+                    .forEach(task -> storedTasks.put(task.id(), task));
+        }
+
+        List<TaskOccurrenceDTO> occurrences = new ArrayList<>();
+        for (RecurringTask series : seriesList) {
+            for (LocalDate date : RecurrenceRule.parse(series.getRule()).occurrences(series.getStartDate(), from, to)) {
+                if (cancelled.contains(new OccurrenceKey(series.getId(), date))) {
+                    continue;
+                }
+                Long taskId = linkedTasks.get(new OccurrenceKey(series.getId(), date));
+                TaskDTO stored = taskId != null ? storedTasks.get(taskId) : null;
+                occurrences.add(stored != null
+                        ? new TaskOccurrenceDTO(series.getId(), date, true, stored)
+                        : new TaskOccurrenceDTO(series.getId(), date, false, DtoMapper.toOccurrence(series, date)));
+            }
+            if (occurrences.size() > MAX_OCCURRENCES) {
+                throw new IllegalArgumentException("More than " + MAX_OCCURRENCES + " occurrences, narrow the date window");
+            }
+        }
+        occurrences.sort(Comparator.comparing(TaskOccurrenceDTO::occurrenceDate)
+                .thenComparing(TaskOccurrenceDTO::seriesId));
+        return occurrences;
+    }
+
+    // Same validation as TaskService.patchTask, applied to the computed occurrence before it is stored
+    private static TaskDTO patched(TaskDTO occurrence, TaskPatchDTO patch) {
+        if (patch.has(Field.TITLE) && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            throw new IllegalArgumentException("Task title cannot be blank");
+        }
+        if (patch.has(Field.STATUS) && patch.getStatus() == null) {
+            throw new IllegalArgumentException("Task status cannot be null");
+        }
+        if (patch.has(Field.USER_ID) && patch.getUserId() == null) {
+            throw new ResourceNotFoundException("User not found with id null");
+        }
+        return new TaskDTO(null,
+                patch.has(Field.TITLE) ? patch.getTitle() : occurrence.title(),
+                patch.has(Field.DESCRIPTION) ? patch.getDescription() : occurrence.description(),
+                patch.has(Field.PRIORITY) ? patch.getPriority() : occurrence.priority(),
+                patch.has(Field.STATUS) ? patch.getStatus() : occurrence.status(),
+                patch.has(Field.DUE_DATE) ? patch.getDueDate() : occurrence.dueDate(),
+                patch.has(Field.USER_ID) ? patch.getUserId() : occurrence.userId(),
+                null, null);
+    }
+
+    private RecurringTask findSeries(Long id) {
+        return recurringTaskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring task not found with id " + id));
+    }
+
+    private static void checkWindow(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("A date window with from <= to is required");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Date window cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+    }
+
+    private record OccurrenceKey(Long seriesId, LocalDate date) {
+    }
+}
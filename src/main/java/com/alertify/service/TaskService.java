@@ -1,97 +1,549 @@
 package com.alertify.service;
 
+import com.alertify.alerts.TaskDueDateChangedEvent;
+import com.alertify.changes.TaskChangeRecorder;
+import com.alertify.config.CacheConfig;
+import com.alertify.dto.BulkItemResult;
+import com.alertify.dto.CoalescedTaskWrite;
+import com.alertify.dto.CursorPage;
+import com.alertify.dto.EntityVersion;
+import com.alertify.dto.TaskCountKey;
+import com.alertify.dto.TaskAssignmentDTO;
 import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskFilter;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.TaskSearchHit;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.enums.TaskSortKey;
+import com.alertify.exceptions.ConflictException;
+import com.alertify.exceptions.PreconditionFailedException;
 import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.mapper.DtoMapper;
+import com.alertify.model.ArchivedTask;
 import com.alertify.model.Task;
 import com.alertify.model.User;
+import com.alertify.repository.ArchivedTaskRepository;
+import com.alertify.repository.CancelledOccurrenceRepository;
+import com.alertify.repository.TaskOccurrenceRepository;
 import com.alertify.repository.TaskRepository;
 import com.alertify.repository.UserRepository;
+import com.alertify.stats.TaskCounterRecorder;
+import com.alertify.util.TaskCursor;
+import com.alertify.util.TaskSearchCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskOccurrenceRepository occurrenceRepository;
+    private final CancelledOccurrenceRepository cancelledOccurrenceRepository;
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskChangeRecorder changeRecorder;
+    private final TaskCounterRecorder counterRecorder;
 
-    public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(task -> new TaskDTO(task.getId(), task.getTitle(), task.getDescription(),
-                        task.getPriority(), task.getStatus(), task.getDueDate(),
-                        task.getUser() != null ? task.getUser().getId() : null))
-                .collect(Collectors.toList());
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 5000;
+    private static final int MAX_TEXT_LENGTH = 255; // width of the title and description columns
+    private static final int MAX_SEARCH_TERMS = 8;
+    private static final int MAX_SEARCH_CANDIDATES = 10_000;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDTO> getAllTasks(TaskFilter filter, TaskSortKey sortKey, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TaskCursor after = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor, sortKey) : null;
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TaskDTO> rows = taskRepository.findPage(filter, sortKey, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<TaskDTO> page = rows.subList(0, limit);
+        TaskDTO last = page.get(limit - 1);
+        String nextCursor = new TaskCursor(sortKey, last.dueDate(), last.id()).encode();
+        return new CursorPage<>(page, nextCursor);
     }
 
+    /**
+     * Relevance-ranked full-text search over title and description. Every word must match and the last one
+     * matches as a prefix, so the same call serves search-as-you-type autocomplete.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDTO> searchTasks(String text, TaskFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TaskSearchCursor after = cursor != null && !cursor.isBlank() ? TaskSearchCursor.decode(cursor) : null;
+
+        List<TaskSearchHit> hits = taskRepository.search(toPrefixTsQuery(text), filter, after, limit + 1,
+                MAX_SEARCH_CANDIDATES);
+        List<TaskDTO> tasks = hits.stream().limit(limit).map(TaskSearchHit::task).toList();
+        if (hits.size() <= limit) {
+            return new CursorPage<>(tasks, null);
+        }
+
+        TaskSearchHit last = hits.get(limit - 1);
+        return new CursorPage<>(tasks, new TaskSearchCursor(last.rank(), last.task().id()).encode());
+    }
+
+    // Only letters and digits reach to_tsquery, so user input can never form tsquery operators
+    static String toPrefixTsQuery(String text) {
+        List<String> words = text == null ? List.of() : NON_WORD.splitAsStream(text.toLowerCase())
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .toList();
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain at least one letter or digit");
+        }
+        return String.join(" & ", words) + ":*";
+    }
+
+    // Falls back to the archive, which only the few requests for archived tasks ever reach
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#id", sync = true)
     public TaskDTO getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        return taskRepository.findById(id)
+                .map(DtoMapper::toDTO)
+                .or(() -> archivedTaskRepository.findDTOById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+    }
 
-        return new TaskDTO(task.getId(), task.getTitle(), task.getDescription(),
-                task.getPriority(), task.getStatus(), task.getDueDate(),
-                task.getUser() != null ? task.getUser().getId() : null);
+    /**
+     * The task's validators, from the cached DTO when there is one and otherwise from a two-column read,
+     * so a conditional GET that ends in 304 never loads, maps or serializes the task.
+     */
+    public EntityVersion getTaskVersion(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS);
+        TaskDTO cached = cache != null ? cache.get(id, TaskDTO.class) : null;
+        if (cached != null) {
+            return new EntityVersion(cached.version(), cached.updatedAt());
+        }
+        return taskRepository.findVersionById(id)
+                .or(() -> archivedTaskRepository.findVersionById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
     }
 
+    @Transactional
     public TaskDTO createTask(TaskDTO taskDTO) {
-        User user = userRepository.findById(taskDTO.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + taskDTO.getUserId()));
-
-        Task task = new Task(null, taskDTO.getTitle(), taskDTO.getDescription(),
-                taskDTO.getPriority(), taskDTO.getStatus(), taskDTO.getDueDate(), user);
+        User user = userRepository.findById(taskDTO.userId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + taskDTO.userId()));
 
-        Task savedTask = taskRepository.save(task);
+        Task savedTask = taskRepository.save(DtoMapper.toEntity(taskDTO, user));
+        publishDueDateChange(savedTask, null);
 
-        return new TaskDTO(savedTask.getId(), savedTask.getTitle(), savedTask.getDescription(),
-                savedTask.getPriority(), savedTask.getStatus(), savedTask.getDueDate(), savedTask.getUser().getId());
+        TaskDTO created = DtoMapper.toDTO(savedTask);
+        changeRecorder.record(TaskChangeType.CREATED, created);
+        counterRecorder.record(null, TaskCountKey.of(created));
+        return created;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
     public TaskDTO updateTask(Long id, TaskDTO taskDTO) {
         Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+                .orElseThrow(() -> missingTask(id));
 
-        task.setTitle(taskDTO.getTitle());
-        task.setDescription(taskDTO.getDescription());
-        task.setPriority(taskDTO.getPriority());
-        task.setStatus(taskDTO.getStatus());
-        task.setDueDate(taskDTO.getDueDate());
+        TaskCountKey previousCounts = TaskCountKey.of(task);
+        LocalDate previousDueDate = task.getDueDate();
+        DtoMapper.copyEditableFields(taskDTO, task);
+        publishDueDateChange(task, previousDueDate);
 
-        if (taskDTO.getUserId() != null) {
-            User user = userRepository.findById(taskDTO.getUserId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + taskDTO.getUserId()));
+        if (taskDTO.userId() != null) {
+            User user = userRepository.findById(taskDTO.userId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + taskDTO.userId()));
             task.setUser(user);
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return new TaskDTO(updatedTask.getId(), updatedTask.getTitle(), updatedTask.getDescription(),
-                updatedTask.getPriority(), updatedTask.getStatus(), updatedTask.getDueDate(),
-                updatedTask.getUser() != null ? updatedTask.getUser().getId() : null);
+        // Flush so a concurrent edit surfaces here as an optimistic lock failure and the returned version is current
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        TaskDTO updated = DtoMapper.toDTO(updatedTask);
+        changeRecorder.record(TaskChangeType.UPDATED, updated);
+        counterRecorder.record(previousCounts, TaskCountKey.of(updated));
+        return updated;
     }
 
+    /**
+     * Applies only the supplied fields in one conditional UPDATE, without reading the task first.
+     * Returns the new version, or null when {@code expectedVersion} was null and the new version is unknown.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    public Long patchTask(Long id, Long expectedVersion, TaskPatchDTO patch) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch must contain at least one field");
+        }
+        if (patch.has(TaskPatchDTO.Field.TITLE) && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            throw new IllegalArgumentException("Task title cannot be blank");
+        }
+        if (patch.has(TaskPatchDTO.Field.STATUS) && patch.getStatus() == null) {
+            throw new IllegalArgumentException("Task status cannot be null");
+        }
+        if (patch.has(TaskPatchDTO.Field.USER_ID)
+                && (patch.getUserId() == null || !userRepository.existsById(patch.getUserId()))) {
+            throw new ResourceNotFoundException("User not found with id " + patch.getUserId());
+        }
+
+        // Only patches that move the task between counters need its current state, read under a row lock
+        TaskCountKey previousCounts = patch.has(TaskPatchDTO.Field.STATUS) || patch.has(TaskPatchDTO.Field.PRIORITY)
+                || patch.has(TaskPatchDTO.Field.USER_ID)
+                ? taskRepository.findCountKeyForUpdate(id).orElse(null)
+                : null;
+
+        if (taskRepository.applyPatch(id, expectedVersion, patch) == 0) {
+            // Only on the failure path: tell a missing task apart from a stale version
+            if (!taskRepository.existsById(id)) {
+                throw missingTask(id);
+            }
+            throw new PreconditionFailedException("Task " + id + " has been modified since version " + expectedVersion);
+        }
+
+        if (patch.has(TaskPatchDTO.Field.DUE_DATE) && patch.getDueDate() != null) {
+            eventPublisher.publishEvent(new TaskDueDateChangedEvent(id, patch.getDueDate()));
+        }
+        Long version = expectedVersion != null ? expectedVersion + 1 : null;
+        changeRecorder.recordPatch(id, version, patch);
+        if (previousCounts != null) {
+            counterRecorder.record(previousCounts, previousCounts.patched(patch));
+        }
+        return version;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
     public void deleteTask(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task == null) {
+            deleteArchivedTask(id);
+            return;
+        }
+        // The occurrence link goes with the task, so the date is cancelled or the rule would list it again
+        occurrenceRepository.findLinksByTaskIds(List.of(id)).forEach(link ->
+                cancelledOccurrenceRepository.insertIfAbsent(link.seriesId(), link.occurrenceDate()));
+        // Flushed under the row lock before the outbox id is drawn, so the event is numbered after earlier writes
         taskRepository.delete(task);
+        taskRepository.flush();
+        changeRecorder.recordDeleted(task.getId(), task.getUser().getId());
+        counterRecorder.record(TaskCountKey.of(task), null);
     }
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
     public TaskDTO assignTaskToUser(Long taskId, Long userId) {
         Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + taskId));
+                .orElseThrow(() -> missingTask(taskId));
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
 
+        TaskCountKey previousCounts = TaskCountKey.of(task);
         task.setUser(user);
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+
+        TaskDTO assigned = DtoMapper.toDTO(updatedTask);
+        changeRecorder.record(TaskChangeType.ASSIGNED, assigned);
+        counterRecorder.record(previousCounts, TaskCountKey.of(assigned));
+        return assigned;
+    }
+
+    @Transactional
+    public List<BulkItemResult<TaskDTO>> bulkCreateTasks(List<TaskDTO> taskDTOs) {
+        checkBulkSize(taskDTOs);
+        Map<Long, User> users = findUsers(taskDTOs.stream().map(taskDTO -> taskDTO != null ? taskDTO.userId() : null));
+
+        List<BulkItemResult<TaskDTO>> results = new ArrayList<>(Collections.nCopies(taskDTOs.size(), null));
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            String invalid = validateEditableFields(taskDTO);
+            if (invalid != null) {
+                results.set(i, BulkItemResult.failure(i, invalid));
+            } else if (!users.containsKey(taskDTO.userId())) {
+                results.set(i, BulkItemResult.failure(i, "User not found with id " + taskDTO.userId()));
+            } else {
+                tasks.add(DtoMapper.toEntity(taskDTO, users.get(taskDTO.userId())));
+                indexes.add(i);
+            }
+        }
+
+        // IDs come from the pooled sequence on persist; the INSERTs themselves go out in JDBC batches on flush
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        savedTasks.forEach(task -> publishDueDateChange(task, null));
+        List<TaskDTO> created = new ArrayList<>(savedTasks.size());
+        for (int k = 0; k < savedTasks.size(); k++) {
+            TaskDTO dto = DtoMapper.toDTO(savedTasks.get(k));
+            created.add(dto);
+            results.set(indexes.get(k), BulkItemResult.success(indexes.get(k), dto));
+        }
+        changeRecorder.recordAll(TaskChangeType.CREATED, created);
+        counterRecorder.recordAll(List.of(), created.stream().map(TaskCountKey::of).toList());
+        return results;
+    }
+
+    @Transactional
+    public List<BulkItemResult<TaskDTO>> bulkUpdateTasks(List<TaskDTO> taskDTOs) {
+        checkBulkSize(taskDTOs);
+        Map<Long, Task> tasks = findTasks(taskDTOs.stream().map(taskDTO -> taskDTO != null ? taskDTO.id() : null));
+        Map<Long, User> users = findUsers(taskDTOs.stream().map(taskDTO -> taskDTO != null ? taskDTO.userId() : null));
+
+        List<BulkItemResult<TaskDTO>> results = new ArrayList<>(Collections.nCopies(taskDTOs.size(), null));
+        Map<Integer, Task> updated = new LinkedHashMap<>();
+        List<TaskCountKey> previousCounts = new ArrayList<>();
+        Set<Long> countedTaskIds = new HashSet<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            Task task = taskDTO != null ? tasks.get(taskDTO.id()) : null;
+            if (task == null) {
+                results.set(i, BulkItemResult.failure(i, "Task not found with id " + (taskDTO != null ? taskDTO.id() : null)));
+                continue;
+            }
+            if (taskDTO.userId() != null && !users.containsKey(taskDTO.userId())) {
+                results.set(i, BulkItemResult.failure(i, "User not found with id " + taskDTO.userId()));
+                continue;
+            }
+            String invalid = validateEditableFields(taskDTO);
+            if (invalid != null) {
+                results.set(i, BulkItemResult.failure(i, invalid));
+                continue;
+            }
 
-        return new TaskDTO(updatedTask.getId(), updatedTask.getTitle(), updatedTask.getDescription(),
-                updatedTask.getPriority(), updatedTask.getStatus(), updatedTask.getDueDate(),
-                updatedTask.getUser().getId());
+            // A task listed twice is counted from its state before the first change
+            if (countedTaskIds.add(task.getId())) {
+                previousCounts.add(TaskCountKey.of(task));
+            }
+            LocalDate previousDueDate = task.getDueDate();
+            DtoMapper.copyEditableFields(taskDTO, task);
+            publishDueDateChange(task, previousDueDate);
+            if (taskDTO.userId() != null) {
+                task.setUser(users.get(taskDTO.userId()));
+            }
+            evictCachedTask(task.getId());
+            updated.put(i, task);
+        }
+        return flushResults(results, updated, previousCounts, TaskChangeType.UPDATED);
     }
 
+    @Transactional
+    public List<BulkItemResult<TaskDTO>> bulkAssignTasks(List<TaskAssignmentDTO> assignments) {
+        checkBulkSize(assignments);
+        Map<Long, Task> tasks = findTasks(assignments.stream().map(assignment -> assignment != null ? assignment.taskId() : null));
+        Map<Long, User> users = findUsers(assignments.stream().map(assignment -> assignment != null ? assignment.userId() : null));
+
+        List<BulkItemResult<TaskDTO>> results = new ArrayList<>(Collections.nCopies(assignments.size(), null));
+        Map<Integer, Task> updated = new LinkedHashMap<>();
+        List<TaskCountKey> previousCounts = new ArrayList<>();
+        Set<Long> countedTaskIds = new HashSet<>();
+        for (int i = 0; i < assignments.size(); i++) {
+            TaskAssignmentDTO assignment = assignments.get(i);
+            Task task = assignment != null ? tasks.get(assignment.taskId()) : null;
+            User user = assignment != null ? users.get(assignment.userId()) : null;
+            if (task == null) {
+                results.set(i, BulkItemResult.failure(i, "Task not found with id " + (assignment != null ? assignment.taskId() : null)));
+            } else if (user == null) {
+                results.set(i, BulkItemResult.failure(i, "User not found with id " + assignment.userId()));
+            } else {
+                if (countedTaskIds.add(task.getId())) {
+                    previousCounts.add(TaskCountKey.of(task));
+                }
+                task.setUser(user);
+                evictCachedTask(task.getId());
+                updated.put(i, task);
+            }
+        }
+        return flushResults(results, updated, previousCounts, TaskChangeType.ASSIGNED);
+    }
+
+    /**
+     * Rejects a write for the asynchronous path up front when its fields are invalid or its task or user does
+     * not exist, so a bad write never reaches, and fails, a flush batch. Read-write, so the lookups go to the
+     * primary and see tasks and users created just before.
+     */
+    @Transactional
+    public void checkCoalescedWrite(CoalescedTaskWrite write) {
+        if (write.replacement() != null) {
+            String invalid = validateEditableFields(write.replacement());
+            if (invalid != null) {
+                throw new IllegalArgumentException(invalid);
+            }
+        }
+        if (!taskRepository.existsById(write.taskId())) {
+            throw missingTask(write.taskId());
+        }
+        if (write.userId() != null && !userRepository.existsById(write.userId())) {
+            throw new ResourceNotFoundException("User not found with id " + write.userId());
+        }
+    }
+
+    /**
+     * Applies writes queued by the asynchronous write path, at most one per task, as batched UPDATEs that bump
+     * each task's version once. Missing tasks and unknown users fail their own item only.
+     */
+    @Transactional
+    public List<BulkItemResult<TaskDTO>> applyCoalescedWrites(List<CoalescedTaskWrite> writes) {
+        Map<Long, TaskDTO> previous = taskRepository.findDTOsByIdsForUpdate(
+                        writes.stream().map(CoalescedTaskWrite::taskId).toList()).stream()
+                .collect(Collectors.toMap(TaskDTO::id, Function.identity()));
+        Set<Long> userIds = findUsers(writes.stream().map(CoalescedTaskWrite::userId)).keySet();
+
+        List<BulkItemResult<TaskDTO>> results = new ArrayList<>(Collections.nCopies(writes.size(), null));
+        List<CoalescedTaskWrite> applicable = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            CoalescedTaskWrite write = writes.get(i);
+            if (!previous.containsKey(write.taskId())) {
+                results.set(i, BulkItemResult.failure(i, "Task not found with id " + write.taskId()));
+            } else if (write.userId() != null && !userIds.contains(write.userId())) {
+                results.set(i, BulkItemResult.failure(i, "User not found with id " + write.userId()));
+            } else {
+                applicable.add(write);
+                indexes.add(i);
+            }
+        }
+        if (applicable.isEmpty()) {
+            return results;
+        }
+
+        taskRepository.applyWrites(applicable, Instant.now());
+        Map<Long, TaskDTO> current = taskRepository.findDTOsByIds(
+                        applicable.stream().map(CoalescedTaskWrite::taskId).toList()).stream()
+                .collect(Collectors.toMap(TaskDTO::id, Function.identity()));
+        List<TaskDTO> updated = new ArrayList<>();
+        List<TaskDTO> assigned = new ArrayList<>();
+        for (int k = 0; k < applicable.size(); k++) {
+            CoalescedTaskWrite write = applicable.get(k);
+            TaskDTO before = previous.get(write.taskId());
+            TaskDTO after = current.get(write.taskId());
+            (write.replacement() != null ? updated : assigned).add(after);
+            if (after.dueDate() != null && !after.dueDate().equals(before.dueDate())) {
+                eventPublisher.publishEvent(new TaskDueDateChangedEvent(after.id(), after.dueDate()));
+            }
+            evictCachedTask(after.id());
+            results.set(indexes.get(k), BulkItemResult.success(indexes.get(k), after));
+        }
+        changeRecorder.recordAll(TaskChangeType.UPDATED, updated);
+        changeRecorder.recordAll(TaskChangeType.ASSIGNED, assigned);
+        counterRecorder.recordAll(
+                applicable.stream().map(write -> TaskCountKey.of(previous.get(write.taskId()))).toList(),
+                applicable.stream().map(write -> TaskCountKey.of(current.get(write.taskId()))).toList());
+        return results;
+    }
+
+    // Dirty checking writes the changes as batched versioned UPDATEs; flushing first makes the reported versions current
+    private List<BulkItemResult<TaskDTO>> flushResults(List<BulkItemResult<TaskDTO>> results, Map<Integer, Task> updated,
+                                                       List<TaskCountKey> previousCounts, TaskChangeType changeType) {
+        taskRepository.flush();
+        List<TaskDTO> changed = new ArrayList<>(updated.size());
+        updated.forEach((i, task) -> {
+            TaskDTO dto = DtoMapper.toDTO(task);
+            changed.add(dto);
+            results.set(i, BulkItemResult.success(i, dto));
+        });
+        changeRecorder.recordAll(changeType, changed);
+        counterRecorder.recordAll(previousCounts,
+                updated.values().stream().distinct().map(TaskCountKey::of).toList());
+        return results;
+    }
+
+    // Rejects per item what would otherwise fail the batch's flush as a whole on a column constraint
+    private static String validateEditableFields(TaskDTO taskDTO) {
+        if (taskDTO == null) {
+            return "Task is required";
+        }
+        if (taskDTO.title() == null || taskDTO.title().isBlank()) {
+            return "Task title is required";
+        }
+        if (taskDTO.title().length() > MAX_TEXT_LENGTH
+                || (taskDTO.description() != null && taskDTO.description().length() > MAX_TEXT_LENGTH)) {
+            return "Task title and description cannot exceed " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Bulk request must contain at least one item");
+        }
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Bulk request cannot contain more than " + MAX_BULK_SIZE + " items");
+        }
+    }
+
+    // One IN query for every user referenced by the batch
+    private Map<Long, User> findUsers(Stream<Long> userIds) {
+        Set<Long> ids = userIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private Map<Long, Task> findTasks(Stream<Long> taskIds) {
+        Set<Long> ids = taskIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return taskRepository.findAllWithUserByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    // Archived tasks are read-only: report them as such rather than as missing. Only reached on a failed lookup
+    private RuntimeException missingTask(Long id) {
+        if (archivedTaskRepository.existsById(id)) {
+            return new ConflictException("Task " + id + " is archived and can no longer be modified");
+        }
+        return new ResourceNotFoundException("Task not found with id " + id);
+    }
+
+    // Archived tasks can still be deleted, like any other task as far as counters, the outbox and series go
+    private void deleteArchivedTask(Long id) {
+        ArchivedTask archived = archivedTaskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+        if (archived.getSeriesId() != null) {
+            cancelledOccurrenceRepository.insertIfAbsent(archived.getSeriesId(), archived.getOccurrenceDate());
+        }
+        archivedTaskRepository.deleteArchivedById(id);
+        changeRecorder.recordDeleted(id, archived.getUserId());
+        counterRecorder.record(new TaskCountKey(archived.getUserId(), archived.getStatus(), archived.getPriority()), null);
+    }
+
+    // Lets the alert scheduler catch tasks that land behind its scan position
+    private void publishDueDateChange(Task task, LocalDate previousDueDate) {
+        if (task.getDueDate() != null && !task.getDueDate().equals(previousDueDate)) {
+            eventPublisher.publishEvent(new TaskDueDateChangedEvent(task.getId(), task.getDueDate()));
+        }
+    }
+
+    // Deferred to after commit by the transaction-aware cache manager
+    private void evictCachedTask(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.alertify.service;
+
+import com.alertify.dto.UserTaskCount;
+import com.alertify.dto.UserTaskStatsDTO;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.mapper.DtoMapper;
+import com.alertify.model.UserTaskCounts;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dashboard counters read from the incrementally maintained {@link UserTaskCounts} rows: one primary-key
+ * read per user, plus an overdue count over the user's open tasks, which depends on today's date.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService {
+
+    private final UserTaskCountsRepository countsRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final Clock clock;
+
+    private static final int MAX_USERS = 200;
+
+    @Transactional(readOnly = true)
+    public UserTaskStatsDTO getUserTaskStats(Long userId) {
+        return getUsersTaskStats(List.of(userId)).get(0);
+    }
+
+    /**
+     * Counters of the given users, in request order. Fails with 404 when any of them does not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<UserTaskStatsDTO> getUsersTaskStats(List<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        if (ids.isEmpty() || ids.size() > MAX_USERS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_USERS + " user ids are required");
+        }
+
+        Map<Long, UserTaskCounts> counts = countsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(UserTaskCounts::getUserId, Function.identity()));
+        // A user without a counter row has never had a task; only then is existence checked separately
+        Set<Long> withoutCounts = new HashSet<>(ids);
+        withoutCounts.removeAll(counts.keySet());
+        if (!withoutCounts.isEmpty() && userRepository.countByIdIn(withoutCounts) < withoutCounts.size()) {
+            throw new ResourceNotFoundException("User not found with id in " + withoutCounts);
+        }
+
+        Map<Long, Long> overdue = taskRepository.countOverdueByUserIds(ids, LocalDate.now(clock)).stream()
+                .collect(Collectors.toMap(UserTaskCount::userId, UserTaskCount::count));
+        return ids.stream()
+                .map(id -> DtoMapper.toDTO(counts.getOrDefault(id, new UserTaskCounts(id, 0, 0, 0, 0, 0, 0, null)),
+                        overdue.getOrDefault(id, 0L)))
+                .toList();
+    }
+}
@@ -1,17 +1,42 @@
 package com.alertify.service;
 
+import com.alertify.changes.TaskChangeRecorder;
+import com.alertify.config.CacheConfig;
+import com.alertify.dto.BulkItemResult;
+import com.alertify.dto.CursorPage;
+import com.alertify.dto.EntityVersion;
 import com.alertify.dto.TaskDTO;
 import com.alertify.dto.UserDTO;
+import com.alertify.dto.UserSummary;
+import com.alertify.dto.UserTasksVersion;
 import com.alertify.dto.UserWithTasksDTO;
 import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.mapper.DtoMapper;
 import com.alertify.model.User;
+import com.alertify.repository.ArchivedTaskRepository;
+import com.alertify.repository.TaskRepository;
 import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import com.alertify.security.PasswordHashingService;
+import com.alertify.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,65 +44,192 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final CacheManager cacheManager;
+    private final PasswordHashingService passwordHashingService;
+    private final TaskChangeRecorder changeRecorder;
+    private final UserTaskCountsRepository countsRepository;
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BULK_SIZE = 1000;
+
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll().stream()
-                .map(user -> new UserDTO(user.getId(), user.getUsername(), user.getEmail(), null))
+                .map(DtoMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", sync = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
-        return new UserDTO(user.getId(), user.getUsername(), user.getEmail(), null);
+        return DtoMapper.toDTO(user);
     }
 
-    public List<UserWithTasksDTO> getUsersWithTasks() {
-        return userRepository.findAll().stream()
-                .map(user -> new UserWithTasksDTO(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getTasks().stream()
-                                .map(task -> new TaskDTO(task.getId(), task.getTitle(), task.getDescription(),
-                                        task.getPriority(), task.getStatus(), task.getDueDate(), task.getUser().getId()))
-                                .collect(Collectors.toList())
-                ))
+    // Same contract as getTaskVersion: cached DTO first, then a two-column read
+    public EntityVersion getUserVersion(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS);
+        UserDTO cached = cache != null ? cache.get(id, UserDTO.class) : null;
+        if (cached != null) {
+            return new EntityVersion(cached.version(), cached.updatedAt());
+        }
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
+    }
+
+    // Two statements per page regardless of user count: one for the users, one for all of their tasks
+    @Transactional(readOnly = true)
+    public CursorPage<UserWithTasksDTO> getUsersWithTasks(String cursor, int size) {
+        int limit = pageLimit(size);
+        List<UserSummary> users = userRepository.findByIdGreaterThanOrderByIdAsc(afterId(cursor), Limit.of(limit + 1));
+        boolean hasNext = users.size() > limit;
+        if (hasNext) {
+            users = users.subList(0, limit);
+        }
+        if (users.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Long> userIds = users.stream().map(UserSummary::getId).toList();
+        Map<Long, List<TaskDTO>> tasksByUser = taskRepository.findDTOsByUserIds(userIds).stream()
+                .collect(Collectors.groupingBy(TaskDTO::userId));
+
+        List<UserWithTasksDTO> page = users.stream()
+                .map(user -> DtoMapper.toDTO(user, tasksByUser.getOrDefault(user.getId(), List.of())))
                 .collect(Collectors.toList());
+        String nextCursor = hasNext ? String.valueOf(userIds.get(userIds.size() - 1)) : null;
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    /**
+     * Changes whenever the page {@link #getUsersWithTasks} would return changes: its user ids, whether a next page
+     * exists, and the task count and latest write among those users and tasks. Reads ids and one aggregate row only.
+     */
+    @Transactional(readOnly = true)
+    public String getUsersWithTasksVersion(String cursor, int size) {
+        int limit = pageLimit(size);
+        List<Long> ids = userRepository.findIdsAfter(afterId(cursor), Limit.of(limit + 1));
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+        if (ids.isEmpty()) {
+            return "empty";
+        }
+        // Ids only grow, so the first id, last id and count pin down the exact set of users on the page
+        UserTasksVersion version = userRepository.findUserTasksVersion(ids);
+        return ids.get(0) + "-" + ids.get(ids.size() - 1) + "-" + ids.size() + (hasNext ? "n" : "")
+                + "-" + version.getTaskCount()
+                + "-" + epochMicros(version.getUsersUpdatedAt()) + "-" + epochMicros(version.getTasksUpdatedAt());
     }
 
     public UserDTO createUser(UserDTO userDTO) {
-        if (userDTO.getPassword() == null || userDTO.getPassword().isEmpty()) {
+        if (userDTO.password() == null || userDTO.password().isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
 
-        String hashedPassword = passwordEncoder.encode(userDTO.getPassword());
-        User user = new User(null, userDTO.getUsername(), hashedPassword, userDTO.getEmail(), null);
+        String hashedPassword = passwordHashingService.encode(userDTO.password());
+        User user = DtoMapper.toEntity(userDTO, hashedPassword);
         User savedUser = userRepository.save(user);
 
-        return new UserDTO(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail(), null);
+        return DtoMapper.toDTO(savedUser);
+    }
+
+    // Hashes in parallel before opening the insert transaction, so no connection is held while hashing
+    public List<BulkItemResult<UserDTO>> bulkCreateUsers(List<UserDTO> userDTOs) {
+        if (userDTOs == null || userDTOs.isEmpty() || userDTOs.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Bulk request must contain between 1 and " + MAX_BULK_SIZE + " items");
+        }
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                userDTOs.stream().filter(Objects::nonNull).map(UserDTO::username).filter(Objects::nonNull).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                userDTOs.stream().filter(Objects::nonNull).map(UserDTO::email).filter(Objects::nonNull).toList()));
+
+        List<BulkItemResult<UserDTO>> results = new ArrayList<>(Collections.nCopies(userDTOs.size(), null));
+        List<UserDTO> accepted = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < userDTOs.size(); i++) {
+            UserDTO userDTO = userDTOs.get(i);
+            if (userDTO == null || userDTO.username() == null || userDTO.email() == null) {
+                results.set(i, BulkItemResult.failure(i, "Username and email are required"));
+            } else if (userDTO.password() == null || userDTO.password().isEmpty()) {
+                results.set(i, BulkItemResult.failure(i, "Password cannot be null or empty"));
+            } else if (!takenUsernames.add(userDTO.username())) {
+                results.set(i, BulkItemResult.failure(i, "Username already taken: " + userDTO.username()));
+            } else if (!takenEmails.add(userDTO.email())) {
+                results.set(i, BulkItemResult.failure(i, "Email already taken: " + userDTO.email()));
+            } else {
+                accepted.add(userDTO);
+                indexes.add(i);
+            }
+        }
+
+        List<String> hashedPasswords = passwordHashingService.encodeAll(accepted.stream().map(UserDTO::password).toList());
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            UserDTO userDTO = accepted.get(k);
+            users.add(DtoMapper.toEntity(userDTO, hashedPasswords.get(k)));
+        }
+
+        List<User> savedUsers = userRepository.saveAll(users);
+        for (int k = 0; k < savedUsers.size(); k++) {
+            User savedUser = savedUsers.get(k);
+            results.set(indexes.get(k), BulkItemResult.success(indexes.get(k),
+                    DtoMapper.toDTO(savedUser)));
+        }
+        return results;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
+        userDetailsCache.evict(user.getUsername());
 
-        user.setUsername(userDTO.getUsername());
-        user.setEmail(userDTO.getEmail());
+        user.setUsername(userDTO.username());
+        user.setEmail(userDTO.email());
 
-        if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        if (userDTO.password() != null && !userDTO.password().isEmpty()) {
+            user.setPassword(passwordHashingService.encode(userDTO.password()));
         }
 
         User updatedUser = userRepository.save(user);
-        return new UserDTO(updatedUser.getId(), updatedUser.getUsername(), updatedUser.getEmail(), null);
+        return DtoMapper.toDTO(updatedUser);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
+        // Removed ahead of the user, whose delete would otherwise cascade to the row in Postgres first
+        countsRepository.deleteById(id);
+        // The archive has no foreign key to users, so the user's archived tasks are removed explicitly
+        archivedTaskRepository.deleteByUserId(id);
         userRepository.delete(user);
+        userDetailsCache.evict(user.getUsername());
+
+        // The delete cascades to the user's tasks, so their cached copies go too (applied after commit)
+        Cache tasksCache = cacheManager.getCache(CacheConfig.TASKS);
+        if (tasksCache != null) {
+            user.getTasks().forEach(task -> tasksCache.evict(task.getId()));
+        }
+        user.getTasks().forEach(task -> changeRecorder.recordDeleted(task.getId(), id));
+    }
+
+    private static int pageLimit(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static long afterId(String cursor) {
+        return cursor != null && !cursor.isBlank() ? Long.parseLong(cursor) : 0L;
+    }
+
+    private static long epochMicros(Instant instant) {
+        return instant != null ? ChronoUnit.MICROS.between(Instant.EPOCH, instant) : 0L;
     }
 }
@@ -0,0 +1,199 @@
+package com.alertify.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One SSE client behind a bounded queue. Producers only enqueue, so a broadcaster never blocks on a
+ * client's socket; the queue is drained on the given executor (virtual threads) by at most one task
+ * at a time, and an idle connection holds no thread at all.
+ * <p>
+ * When a coalescing key is given, a queued event is replaced in place by a newer one with the same
+ * key. When the queue is full the overflow policy either drops the oldest event or closes the
+ * connection so the client reconnects and resumes.
+ */
+@Slf4j
+public class SseConnection<E> {
+
+    public enum OverflowPolicy { DROP_OLDEST, DISCONNECT }
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Function<E, Object> coalesceKey;
+    private final Function<E, SseEmitter.SseEventBuilder> encoder;
+    private final Executor executor;
+
+    // Insertion-ordered; re-putting an existing key keeps its position, which is what coalescing needs
+    private final LinkedHashMap<Object, Object> queue = new LinkedHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean open = new AtomicBoolean(true);
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long lastWriteNanos = System.nanoTime();
+    private volatile Runnable onClose = () -> { };
+
+    public SseConnection(SseEmitter emitter, int capacity, OverflowPolicy overflowPolicy,
+                         Function<E, Object> coalesceKey, Function<E, SseEmitter.SseEventBuilder> encoder,
+                         Executor executor) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.coalesceKey = coalesceKey;
+        this.encoder = encoder;
+        this.executor = executor;
+        emitter.onCompletion(this::closed);
+        emitter.onTimeout(this::closed);
+        emitter.onError(e -> closed());
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public void onClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    public boolean isOpen() {
+        return open.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Queues an event without blocking. Returns false if the connection is closed or was closed by this call.
+     */
+    public boolean offer(E event) {
+        if (!open.get()) {
+            return false;
+        }
+        boolean overflow = false;
+        synchronized (queue) {
+            Object key = coalesceKey != null ? coalesceKey.apply(event) : new Object();
+            if (!queue.containsKey(key) && queue.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    overflow = true;
+                } else {
+                    Iterator<Object> oldest = queue.keySet().iterator();
+                    oldest.next();
+                    oldest.remove();
+                    dropped.incrementAndGet();
+                }
+            }
+            if (!overflow) {
+                queue.put(key, event);
+            }
+        }
+        if (overflow) {
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Sends an SSE comment if nothing was written for {@code idle}; keeps proxies from timing the
+     * stream out and surfaces dead clients as write failures.
+     */
+    public void heartbeatIfIdle(Duration idle) {
+        if (open.get() && System.nanoTime() - lastWriteNanos >= idle.toNanos()) {
+            synchronized (queue) {
+                queue.putIfAbsent(HEARTBEAT, HEARTBEAT);
+            }
+            scheduleDrain();
+        }
+    }
+
+    public void close() {
+        if (open.compareAndSet(true, false)) {
+            clearQueue();
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.debug("SSE connection already completed", e);
+            }
+            onClose.run();
+        }
+    }
+
+    private void closed() {
+        if (open.compareAndSet(true, false)) {
+            clearQueue();
+            onClose.run();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Object next;
+            while (open.get() && (next = poll()) != null) {
+                write(next);
+            }
+        } finally {
+            draining.set(false);
+        }
+        // An offer may have landed between the last poll and clearing the flag
+        if (open.get() && !isQueueEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(Object next) {
+        try {
+            if (next == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(encoder.apply((E) next));
+            }
+            lastWriteNanos = System.nanoTime();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing SSE connection after failed write", e);
+            closed();
+        }
+    }
+
+    private Object poll() {
+        synchronized (queue) {
+            Iterator<Object> values = queue.values().iterator();
+            if (!values.hasNext()) {
+                return null;
+            }
+            Object next = values.next();
+            values.remove();
+            return next;
+        }
+    }
+
+    private boolean isQueueEmpty() {
+        synchronized (queue) {
+            return queue.isEmpty();
+        }
+    }
+
+    private void clearQueue() {
+        synchronized (queue) {
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.alertify.stats;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.UserTaskCounts;
+
+/**
+ * Positions of the {@link UserTaskCounts} columns in a {@code long[]}, for accumulating deltas and recounts.
+ */
+final class CounterSlots {
+
+    static final int SIZE = 6;
+
+    private CounterSlots() {
+    }
+
+    static void add(long[] counts, TaskStatus status, TaskPriority priority, long amount) {
+        if (status != null) {
+            counts[switch (status) {
+                case TODO -> 0;
+                case IN_PROGRESS -> 1;
+                case COMPLETED -> 2;
+            }] += amount;
+        }
+        if (priority != null) {
+            counts[switch (priority) {
+                case LOW -> 3;
+                case MEDIUM -> 4;
+                case HIGH -> 5;
+            }] += amount;
+        }
+    }
+
+    static long[] of(UserTaskCounts counts) {
+        return new long[]{counts.getTodo(), counts.getInProgress(), counts.getCompleted(),
+                counts.getLowPriority(), counts.getMediumPriority(), counts.getHighPriority()};
+    }
+
+    static void copyTo(long[] values, UserTaskCounts counts) {
+        counts.setTodo(values[0]);
+        counts.setInProgress(values[1]);
+        counts.setCompleted(values[2]);
+        counts.setLowPriority(values[3]);
+        counts.setMediumPriority(values[4]);
+        counts.setHighPriority(values[5]);
+    }
+
+    static boolean isZero(long[] values) {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+package com.alertify.stats;
+
+import com.alertify.dto.TaskCountRow;
+import com.alertify.model.UserTaskCounts;
+import com.alertify.repository.ArchivedTaskRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the per-user task counters against the tasks and task_archive tables, one batch of users per transaction,
+ * and optionally repairs drifted counters. Each batch locks its counter rows before recounting, so a
+ * concurrent task write either committed before the recount or applies its delta after the repair.
+ */
+@Slf4j
+@Component
+public class TaskCountReconciler {
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserTaskCountsRepository countsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter mismatches;
+
+    private final boolean enabled;
+    private final boolean repair;
+    private final int batchSize;
+
+    public TaskCountReconciler(UserRepository userRepository,
+                               TaskRepository taskRepository,
+                               ArchivedTaskRepository archivedTaskRepository,
+                               UserTaskCountsRepository countsRepository,
+                               PlatformTransactionManager transactionManager,
+                               Clock clock,
+                               MeterRegistry meterRegistry,
+                               @Value("${alertify.stats.reconcile.enabled:true}") boolean enabled,
+                               @Value("${alertify.stats.reconcile.repair:true}") boolean repair,
+                               @Value("${alertify.stats.reconcile.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.countsRepository = countsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.mismatches = Counter.builder("alertify.task.counts.mismatches")
+                .description("Per-user task counters found out of step with the tasks table")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.repair = repair;
+        this.batchSize = batchSize;
+    }
+
+    public record Report(int usersChecked, int mismatched, boolean repaired) {
+    }
+
+    @Scheduled(initialDelayString = "${alertify.stats.reconcile.interval:PT6H}",
+            fixedDelayString = "${alertify.stats.reconcile.interval:PT6H}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        Report report = reconcile();
+        if (report.mismatched() > 0) {
+            log.warn("Task counters of {} of {} users were out of step{}", report.mismatched(),
+                    report.usersChecked(), report.repaired() ? " and have been repaired" : "");
+        }
+    }
+
+    /**
+     * Checks every user's counters and returns how many differed from a recount.
+     */
+    public Report reconcile() {
+        int checked = 0;
+        int mismatched = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(afterId, Limit.of(batchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            mismatched += transactionTemplate.execute(status -> reconcileBatch(userIds));
+            checked += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        return new Report(checked, mismatched, repair && mismatched > 0);
+    }
+
+    private int reconcileBatch(List<Long> userIds) {
+        Instant now = Instant.now(clock);
+        // Every user gets a row to lock first; a writer creating a missing row after the lock would be counted twice
+        countsRepository.insertAllIfAbsent(userIds, now);
+        Map<Long, UserTaskCounts> stored = countsRepository.findAllForUpdate(userIds).stream()
+                .collect(Collectors.toMap(UserTaskCounts::getUserId, Function.identity()));
+        Map<Long, long[]> actual = new HashMap<>();
+        // Archived tasks keep counting towards their owner, so the recount covers both tables
+        List<TaskCountRow> rows = new ArrayList<>(taskRepository.countByUserStatusPriority(userIds));
+        rows.addAll(archivedTaskRepository.countByUserStatusPriority(userIds));
+        for (TaskCountRow row : rows) {
+            CounterSlots.add(actual.computeIfAbsent(row.userId(), id -> new long[CounterSlots.SIZE]),
+                    row.status(), row.priority(), row.count());
+        }
+
+        int mismatched = 0;
+        for (Long userId : userIds) {
+            UserTaskCounts counts = stored.get(userId);
+            if (counts == null) {
+                // Deleted since the batch was listed, together with its tasks
+                continue;
+            }
+            long[] expected = actual.getOrDefault(userId, new long[CounterSlots.SIZE]);
+            long[] current = CounterSlots.of(counts);
+            if (Arrays.equals(expected, current)) {
+                continue;
+            }
+            mismatched++;
+            mismatches.increment();
+            log.warn("Task counters of user {} drifted: stored {}, actual {}", userId,
+                    Arrays.toString(current), Arrays.toString(expected));
+            if (!repair) {
+                continue;
+            }
+            CounterSlots.copyTo(expected, counts);
+            counts.setUpdatedAt(now);
+        }
+        return mismatched;
+    }
+}
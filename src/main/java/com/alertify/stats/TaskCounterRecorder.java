@@ -0,0 +1,64 @@
+package com.alertify.stats;
+
+import com.alertify.dto.TaskCountKey;
+import com.alertify.repository.UserTaskCountsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the per-user task counters in step with task writes. Must join the transaction of the write,
+ * so the counters commit or roll back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCounterRecorder {
+
+    private final UserTaskCountsRepository countsRepository;
+    private final Clock clock;
+
+    /**
+     * Moves one task from {@code before} to {@code after}; null for a created or deleted task.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(TaskCountKey before, TaskCountKey after) {
+        recordAll(before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+    }
+
+    /**
+     * Subtracts every key in {@code removed} and adds every key in {@code added}, with at most one UPDATE per
+     * affected user. Users are updated in id order so concurrent writers lock their rows in the same order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<TaskCountKey> removed, Collection<TaskCountKey> added) {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        removed.forEach(key -> CounterSlots.add(deltas.computeIfAbsent(key.userId(), id -> new long[CounterSlots.SIZE]),
+                key.status(), key.priority(), -1));
+        added.forEach(key -> CounterSlots.add(deltas.computeIfAbsent(key.userId(), id -> new long[CounterSlots.SIZE]),
+                key.status(), key.priority(), 1));
+
+        Instant now = Instant.now(clock);
+        deltas.forEach((userId, delta) -> {
+            if (CounterSlots.isZero(delta)) {
+                return;
+            }
+            // Users created before their first task have no row yet
+            if (increment(userId, delta, now) == 0) {
+                countsRepository.insertIfAbsent(userId, now);
+                increment(userId, delta, now);
+            }
+        });
+    }
+
+    private int increment(Long userId, long[] delta, Instant now) {
+        return countsRepository.increment(userId, delta[0], delta[1], delta[2], delta[3], delta[4], delta[5], now);
+    }
+}
@@ -1,10 +1,13 @@
 package com.alertify.util;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor(staticName = "create")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ApiSuccessResponse<T> {
     private T data;
     private String message;
@@ -0,0 +1,26 @@
+package com.alertify.util;
+
+import com.alertify.security.jwt.JwtAuthenticationToken;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Identifies the caller of a request for per-client state such as rate limits and read-your-writes routing:
+ * the verified JWT subject when there is one, otherwise the client address.
+ */
+public final class ClientKeys {
+
+    private ClientKeys() {
+    }
+
+    // Only meaningful once AuthenticationTokenFilter has run; the remote address honours X-Forwarded-For
+    // only when server.forward-headers-strategy is configured
+    public static String of(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,24 @@
+package com.alertify.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class CursorPageResponse<T> extends ApiSuccessResponse<List<T>> {
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorPageResponse<T> of(List<T> data, String nextCursor, String message) {
+        CursorPageResponse<T> response = new CursorPageResponse<>();
+        response.setData(data);
+        response.setMessage(message);
+        response.setNextCursor(nextCursor);
+        response.setHasNext(nextCursor != null);
+        return response;
+    }
+}
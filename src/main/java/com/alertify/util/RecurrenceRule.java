@@ -0,0 +1,182 @@
+package com.alertify.util;
+
+import com.alertify.enums.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The date-only subset of an iCalendar RRULE: {@code FREQ=DAILY|WEEKLY|MONTHLY|YEARLY}, {@code INTERVAL},
+ * {@code BYDAY} (weekly rules only), and at most one of {@code COUNT} and {@code UNTIL}, e.g.
+ * {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=10}. Weeks start on Monday. Monthly and yearly rules
+ * keep the start date's day and fall back to the last day of shorter months.
+ * <p>
+ * Occurrences are computed directly for a window: expansion jumps to the first period that can
+ * reach the window instead of walking from the start date.
+ */
+public record RecurrenceRule(RecurrenceFrequency frequency, int interval, Set<DayOfWeek> byDay, Integer count,
+                             LocalDate until) {
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final List<String> DAY_CODES = List.of("MO", "TU", "WE", "TH", "FR", "SA", "SU");
+
+    public RecurrenceRule {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule needs FREQ");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence INTERVAL must be at least 1");
+        }
+        byDay = byDay == null || byDay.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(byDay));
+        if (!byDay.isEmpty() && frequency != RecurrenceFrequency.WEEKLY) {
+            throw new IllegalArgumentException("Recurrence BYDAY is only supported with FREQ=WEEKLY");
+        }
+        if (count != null && count < 1) {
+            throw new IllegalArgumentException("Recurrence COUNT must be at least 1");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("Recurrence rule cannot have both COUNT and UNTIL");
+        }
+    }
+
+    public static RecurrenceRule parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required");
+        }
+        String rule = text.trim().toUpperCase();
+        if (rule.startsWith("RRULE:")) {
+            rule = rule.substring("RRULE:".length());
+        }
+
+        RecurrenceFrequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDate until = null;
+        for (String part : rule.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String value = part.substring(eq + 1);
+            try {
+                switch (part.substring(0, eq)) {
+                    case "FREQ" -> frequency = RecurrenceFrequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    // Date-only: a DATE-TIME UNTIL keeps its date part
+                    case "UNTIL" -> until = LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, UNTIL_FORMAT);
+                    case "BYDAY" -> {
+                        for (String code : value.split(",")) {
+                            int day = DAY_CODES.indexOf(code);
+                            if (day < 0) {
+                                throw new IllegalArgumentException("Unknown recurrence BYDAY value: " + code);
+                            }
+                            byDay.add(DayOfWeek.of(day + 1));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + part);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /** Canonical form, as stored. */
+    public String format() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                    .map(day -> DAY_CODES.get(day.getValue() - 1))
+                    .collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(UNTIL_FORMAT));
+        }
+        return rule.toString();
+    }
+
+    public boolean occursOn(LocalDate start, LocalDate date) {
+        return !occurrences(start, date, date).isEmpty();
+    }
+
+    /**
+     * Occurrences of a series starting on {@code start} that fall within {@code [from, to]}, in date order.
+     * The caller bounds the window.
+     */
+    public List<LocalDate> occurrences(LocalDate start, LocalDate from, LocalDate to) {
+        LocalDate first = from.isAfter(start) ? from : start;
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        List<LocalDate> dates = new ArrayList<>();
+        if (first.isAfter(last)) {
+            return dates;
+        }
+        if (frequency == RecurrenceFrequency.WEEKLY) {
+            weeklyOccurrences(start, first, last, dates);
+        } else {
+            ChronoUnit unit = switch (frequency) {
+                case DAILY -> ChronoUnit.DAYS;
+                case MONTHLY -> ChronoUnit.MONTHS;
+                default -> ChronoUnit.YEARS;
+            };
+            // One occurrence per period, so the period index is also the number of earlier occurrences;
+            // between() counts whole units, so this never skips past an occurrence inside the window
+            for (long period = unit.between(start, first) / interval; ; period++) {
+                LocalDate date = start.plus(period * interval, unit);
+                if (date.isAfter(last) || (count != null && period >= count)) {
+                    break;
+                }
+                if (!date.isBefore(first)) {
+                    dates.add(date);
+                }
+            }
+        }
+        return dates;
+    }
+
+    private void weeklyOccurrences(LocalDate start, LocalDate first, LocalDate last, List<LocalDate> dates) {
+        Set<DayOfWeek> days = byDay.isEmpty() ? Set.of(start.getDayOfWeek()) : byDay;
+        LocalDate startWeek = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long firstWeekOccurrences = days.stream().filter(day -> day.compareTo(start.getDayOfWeek()) >= 0).count();
+
+        long period = ChronoUnit.WEEKS.between(startWeek, first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)))
+                / interval;
+        long ordinal = period == 0 ? 0 : firstWeekOccurrences + (period - 1) * days.size();
+        for (; ; period++) {
+            LocalDate week = startWeek.plusWeeks(period * interval);
+            if (week.isAfter(last)) {
+                return;
+            }
+            for (DayOfWeek day : days) {
+                LocalDate date = week.plusDays(day.getValue() - 1L);
+                if (date.isBefore(start)) {
+                    continue;
+                }
+                if (date.isAfter(last) || (count != null && ++ordinal > count)) {
+                    return;
+                }
+                if (!date.isBefore(first)) {
+                    dates.add(date);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.alertify.util;
+
+import com.alertify.enums.TaskSortKey;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for task listings: the sort key plus the last row's (dueDate, id).
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCursor {
+    private static final String SEPARATOR = "|";
+
+    private final TaskSortKey sortKey;
+    private final LocalDate dueDate;
+    private final Long id;
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + (dueDate != null ? dueDate : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token, TaskSortKey expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            TaskSortKey sortKey = TaskSortKey.valueOf(parts[0]);
+            if (sortKey != expectedSortKey) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + sortKey + ", not " + expectedSortKey);
+            }
+            LocalDate dueDate = parts[1].isEmpty() ? null : LocalDate.parse(parts[1]);
+            return new TaskCursor(sortKey, dueDate, Long.parseLong(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.alertify.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for search results: the last row's (rank, id). Search pages are ordered
+ * by rank descending, then id ascending.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSearchCursor {
+    private static final String SEPARATOR = "|";
+
+    private final float rank;
+    private final Long id;
+
+    public String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSearchCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new TaskSearchCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+    }
+}
@@ -0,0 +1,44 @@
+package com.alertify.util;
+
+import com.alertify.exceptions.PreconditionFailedException;
+import com.alertify.exceptions.PreconditionRequiredException;
+
+/**
+ * Maps an entity's {@code @Version} to a strong ETag ({@code "3"}) and back from an If-Match header.
+ * Aggregate validators over collections are weak ({@code W/"..."}).
+ */
+public final class VersionETag {
+
+    private VersionETag() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    public static String weak(String token) {
+        return "W/\"" + token + "\"";
+    }
+
+    /**
+     * Returns the version named by the header, or null for {@code If-Match: *} (any current version).
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("If-Match header with the task's ETag is required");
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        // If-Match uses strong comparison, so a weak validator can never match
+        if (tag.startsWith("W/") || tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match the current ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current ETag");
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.alertify.writes;
+
+import com.alertify.dto.BulkItemResult;
+import com.alertify.dto.CoalescedTaskWrite;
+import com.alertify.dto.TaskDTO;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.exceptions.TooManyRequestsException;
+import com.alertify.service.TaskService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queues asynchronous task writes in memory and applies them in batches. Writes to the same task that
+ * arrive before it is flushed merge into one, so a burst of updates costs a single UPDATE and version bump.
+ * <p>
+ * Tasks are hashed onto stripes. A stripe is flushed by one thread at a time and drained as a whole, so the
+ * writes to a task reach the database in the order they were accepted. Should a merged write still fail,
+ * its writes are applied again one by one, in order, so only the offending one fails. Synchronous writes call
+ * {@link #flushPending} first, which waits for an in-flight flush of the task's stripe and applies anything
+ * still queued for it, keeping the order across both modes on this node.
+ * <p>
+ * The queue is not durable: accepted writes are lost if the node dies before the next flush. Nor is it shared:
+ * a synchronous write through another node does not flush it, so it may land before a write queued here
+ * earlier. Clients that need either guarantee ask to wait for the flush, or use the synchronous write. Both
+ * limits are stated in the API docs of the write endpoints.
+ */
+@Slf4j
+@Component
+public class TaskWriteCoalescer {
+
+    private final TaskService taskService;
+    private final Stripe[] stripes;
+    private final Cache<String, TaskWriteOperation> operations;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter acceptedCounter;
+    private final Counter coalescedCounter;
+    private final Counter failedCounter;
+
+    private final boolean enabled;
+    private final boolean flushEnabled;
+    private final int maxPendingPerStripe;
+    private final int batchSize;
+    private final Duration maxWait;
+
+    public TaskWriteCoalescer(TaskService taskService,
+                              MeterRegistry meterRegistry,
+                              @Value("${alertify.tasks.async-writes.enabled:true}") boolean enabled,
+                              @Value("${alertify.tasks.async-writes.flush.enabled:true}") boolean flushEnabled,
+                              @Value("${alertify.tasks.async-writes.stripes:16}") int stripeCount,
+                              @Value("${alertify.tasks.async-writes.max-pending-per-stripe:10000}") int maxPendingPerStripe,
+                              @Value("${alertify.tasks.async-writes.batch-size:500}") int batchSize,
+                              @Value("${alertify.tasks.async-writes.max-wait:PT10S}") Duration maxWait,
+                              @Value("${alertify.tasks.async-writes.operation-retention:PT10M}") Duration operationRetention,
+                              @Value("${alertify.tasks.async-writes.max-operations:100000}") long maxOperations) {
+        this.taskService = taskService;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.operations = Caffeine.newBuilder()
+                .expireAfterWrite(operationRetention)
+                .maximumSize(maxOperations)
+                .build();
+        this.enabled = enabled;
+        this.flushEnabled = flushEnabled;
+        this.maxPendingPerStripe = maxPendingPerStripe;
+        this.batchSize = batchSize;
+        this.maxWait = maxWait;
+
+        this.acceptedCounter = meterRegistry.counter("alertify.tasks.async-writes.accepted");
+        this.coalescedCounter = meterRegistry.counter("alertify.tasks.async-writes.coalesced");
+        this.failedCounter = meterRegistry.counter("alertify.tasks.async-writes.failed");
+        Gauge.builder("alertify.tasks.async-writes.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a write, merging it into the task's pending write if there is one.
+     *
+     * @throws IllegalArgumentException if the fields it writes are invalid
+     * @throws ResourceNotFoundException if the task or the user it assigns does not exist
+     * @throws com.alertify.exceptions.ConflictException if the task has been archived
+     */
+    public TaskWriteOperation submit(CoalescedTaskWrite write) {
+        taskService.checkCoalescedWrite(write);
+        TaskWriteOperation operation = new TaskWriteOperation(UUID.randomUUID().toString(), write.taskId(),
+                new CompletableFuture<>());
+        operations.put(operation.id(), operation);
+
+        Stripe stripe = stripeFor(write.taskId());
+        synchronized (stripe) {
+            PendingWrite pending = stripe.pending.get(write.taskId());
+            if (pending != null) {
+                pending.add(write, operation);
+                coalescedCounter.increment();
+            } else {
+                if (stripe.pending.size() >= maxPendingPerStripe) {
+                    operations.invalidate(operation.id());
+                    throw new TooManyRequestsException("Too many pending task writes, retry later");
+                }
+                stripe.pending.put(write.taskId(), new PendingWrite(write, operation));
+                pendingCount.incrementAndGet();
+            }
+        }
+        acceptedCounter.increment();
+        return operation;
+    }
+
+    public Optional<TaskWriteOperation> getOperation(String operationId) {
+        return Optional.ofNullable(operations.getIfPresent(operationId));
+    }
+
+    /**
+     * Waits up to {@code wait} (capped at {@code max-wait}) for the operation to be flushed. Returns the task
+     * as written, or empty if the flush did not happen in time; a failed write rethrows its error.
+     */
+    public Optional<TaskDTO> await(TaskWriteOperation operation, Duration wait) {
+        Duration timeout = wait.compareTo(maxWait) < 0 ? wait : maxWait;
+        try {
+            return Optional.of(operation.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${alertify.tasks.async-writes.flush-interval:PT0.1S}")
+    public void scheduledFlush() {
+        if (!enabled || !flushEnabled) {
+            return;
+        }
+        flushAll();
+    }
+
+    // Graceful shutdown should not drop accepted writes
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (enabled) {
+            flushAll();
+        }
+    }
+
+    public void flushAll() {
+        for (Stripe stripe : stripes) {
+            flush(stripe, null);
+        }
+    }
+
+    /**
+     * Applies the queued writes of the given tasks, and waits for any flush of them already in progress.
+     */
+    public void flushPending(Collection<Long> taskIds) {
+        // Counts writes until their flush completes, so zero means nothing is queued or in flight
+        if (pendingCount.get() == 0) {
+            return;
+        }
+        Set<Stripe> touched = new LinkedHashSet<>();
+        for (Long taskId : taskIds) {
+            if (taskId != null) {
+                touched.add(stripeFor(taskId));
+            }
+        }
+        touched.forEach(stripe -> flush(stripe, taskIds));
+    }
+
+    private void flush(Stripe stripe, Collection<Long> onlyIfPending) {
+        stripe.flushLock.lock();
+        try {
+            List<PendingWrite> drained;
+            synchronized (stripe) {
+                if (stripe.pending.isEmpty()
+                        || (onlyIfPending != null && onlyIfPending.stream().noneMatch(stripe.pending::containsKey))) {
+                    return;
+                }
+                drained = new ArrayList<>(stripe.pending.values());
+                stripe.pending = new LinkedHashMap<>();
+            }
+            try {
+                for (int from = 0; from < drained.size(); from += batchSize) {
+                    apply(drained.subList(from, Math.min(from + batchSize, drained.size())));
+                }
+            } finally {
+                pendingCount.addAndGet(-drained.size());
+            }
+        } finally {
+            stripe.flushLock.unlock();
+        }
+    }
+
+    private void apply(List<PendingWrite> batch) {
+        List<BulkItemResult<TaskDTO>> results;
+        try {
+            results = taskService.applyCoalescedWrites(batch.stream().map(pending -> pending.write).toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                PendingWrite pending = batch.get(0);
+                if (pending.isMerged()) {
+                    log.warn("Merged asynchronous writes to task {} failed, retrying one by one", pending.write.taskId(), e);
+                    applySeparately(pending);
+                    return;
+                }
+                log.warn("Asynchronous write to task {} failed", pending.write.taskId(), e);
+                fail(pending, new IllegalStateException("Write to task " + pending.write.taskId() + " could not be applied"));
+                return;
+            }
+            // One bad row rolls back the whole batch; retry each write on its own so only that one fails
+            log.warn("Batch of {} asynchronous task writes failed, retrying one by one", batch.size(), e);
+            batch.forEach(pending -> apply(List.of(pending)));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            BulkItemResult<TaskDTO> result = results.get(i);
+            if (result.success()) {
+                batch.get(i).operations.forEach(operation -> operation.result().complete(result.data()));
+            } else if (batch.get(i).isMerged()) {
+                // The merge carries the last owner and body of several writes; find out which one is at fault
+                applySeparately(batch.get(i));
+            } else {
+                fail(batch.get(i), new ResourceNotFoundException(result.error()));
+            }
+        }
+    }
+
+    // Each write applied on its own, in the order it was accepted, completing its own operation
+    private void applySeparately(PendingWrite merged) {
+        for (int i = 0; i < merged.writes.size(); i++) {
+            apply(List.of(new PendingWrite(merged.writes.get(i), merged.operations.get(i))));
+        }
+    }
+
+    private void fail(PendingWrite pending, RuntimeException error) {
+        failedCounter.increment(pending.operations.size());
+        pending.operations.forEach(operation -> operation.result().completeExceptionally(error));
+    }
+
+    private Stripe stripeFor(Long taskId) {
+        return stripes[Math.floorMod(Long.hashCode(taskId), stripes.length)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock flushLock = new ReentrantLock();
+        // Guarded by the stripe's monitor; replaced rather than cleared when drained
+        private Map<Long, PendingWrite> pending = new LinkedHashMap<>();
+    }
+
+    private static final class PendingWrite {
+        private CoalescedTaskWrite write;
+        // The accepted writes and their operations, index for index, kept to split a merge that fails
+        private final List<CoalescedTaskWrite> writes = new ArrayList<>();
+        private final List<TaskWriteOperation> operations = new ArrayList<>();
+
+        private PendingWrite(CoalescedTaskWrite write, TaskWriteOperation operation) {
+            this.write = write;
+            this.writes.add(write);
+            this.operations.add(operation);
+        }
+
+        private void add(CoalescedTaskWrite later, TaskWriteOperation operation) {
+            write = write.then(later);
+            writes.add(later);
+            operations.add(operation);
+        }
+
+        private boolean isMerged() {
+            return writes.size() > 1;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.alertify.writes;
+
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskWriteOperationDTO;
+import com.alertify.enums.WriteOperationStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * An accepted asynchronous write, completed with the task as it was after the flush that applied it.
+ */
+public record TaskWriteOperation(String id, Long taskId, CompletableFuture<TaskDTO> result) {
+
+    public TaskWriteOperationDTO toDTO() {
+        if (!result.isDone()) {
+            return new TaskWriteOperationDTO(id, taskId, WriteOperationStatus.PENDING, null, null);
+        }
+        try {
+            return new TaskWriteOperationDTO(id, taskId, WriteOperationStatus.COMPLETED, result.join().version(), null);
+        } catch (CompletionException e) {
+            return new TaskWriteOperationDTO(id, taskId, WriteOperationStatus.FAILED, null, e.getCause().getMessage());
+        }
+    }
+}
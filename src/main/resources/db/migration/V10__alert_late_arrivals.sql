@@ -0,0 +1,8 @@
+-- Tasks written behind the alert scan's checkpoint, recorded with the task write and removed once alerted
+CREATE SEQUENCE alert_late_arrivals_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE alert_late_arrivals (
+    id         BIGINT NOT NULL PRIMARY KEY,
+    task_id    BIGINT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Dates removed from a recurring task (EXDATE): deleting an occurrence must not bring the computed one back
+CREATE TABLE cancelled_occurrences (
+    series_id       BIGINT NOT NULL REFERENCES recurring_tasks (id) ON DELETE CASCADE,
+    occurrence_date DATE   NOT NULL,
+    PRIMARY KEY (series_id, occurrence_date)
+);
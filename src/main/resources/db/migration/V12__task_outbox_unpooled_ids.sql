@@ -0,0 +1,4 @@
+-- Outbox ids are drawn one at a time, while the writer holds the task's row lock, so two events of one task
+-- are numbered in commit order even when written by different nodes; pooled blocks per node were not.
+-- Nodes still allocating blocks of 50 would reuse ids, so all of them must run the new mapping.
+ALTER SEQUENCE task_outbox_seq INCREMENT BY 1;
@@ -0,0 +1,30 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tasks (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    priority    VARCHAR(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    status      VARCHAR(255) CHECK (status IN ('TODO', 'IN_PROGRESS', 'COMPLETED')),
+    due_date    DATE,
+    user_id     BIGINT       NOT NULL REFERENCES users (id)
+);
+
+CREATE INDEX idx_tasks_due_date_id ON tasks (due_date, id);
+
+CREATE TABLE alert_checkpoints (
+    type          VARCHAR(255) NOT NULL PRIMARY KEY CHECK (type IN ('DUE_SOON', 'OVERDUE')),
+    last_due_date DATE         NOT NULL,
+    last_task_id  BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE
+);
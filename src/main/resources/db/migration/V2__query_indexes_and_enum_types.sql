@@ -0,0 +1,39 @@
+-- Objects that databases created by older ddl-auto runs may lack; no-ops on fresh installs.
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+-- Move the pooled sequence past ids handed out by the old IDENTITY column
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), 1));
+
+CREATE TABLE IF NOT EXISTS alert_checkpoints (
+    type          VARCHAR(255) NOT NULL PRIMARY KEY,
+    last_due_date DATE         NOT NULL,
+    last_task_id  BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Enum columns as native enum types: 4 bytes per value instead of a varchar label
+CREATE TYPE task_status AS ENUM ('TODO', 'IN_PROGRESS', 'COMPLETED');
+CREATE TYPE task_priority AS ENUM ('LOW', 'MEDIUM', 'HIGH');
+
+-- Hibernate binds enum names as varchar; let Postgres convert them on insert, update and comparison
+CREATE CAST (varchar AS task_status) WITH INOUT AS IMPLICIT;
+CREATE CAST (varchar AS task_priority) WITH INOUT AS IMPLICIT;
+
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_status_check;
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_priority_check;
+UPDATE tasks SET status = 'TODO' WHERE status IS NULL;
+
+ALTER TABLE tasks
+    ALTER COLUMN status TYPE task_status USING status::text::task_status,
+    ALTER COLUMN status SET DEFAULT 'TODO',
+    ALTER COLUMN status SET NOT NULL,
+    ALTER COLUMN priority TYPE task_priority USING priority::text::task_priority;
+
+-- Indexes for the service's query patterns
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date, id);      -- listing sorted by due date
+CREATE INDEX idx_tasks_user_id_id ON tasks (user_id, id);                        -- per-user listing, with-tasks IN query, FK
+CREATE INDEX idx_tasks_user_status ON tasks (user_id, status);                   -- per-user status filters
+CREATE INDEX idx_tasks_status_id ON tasks (status, id);                          -- findByStatus, status-filtered listing
+CREATE INDEX idx_tasks_open_due_date ON tasks (due_date, id) WHERE status <> 'COMPLETED'; -- due-date alert scan
+
+ANALYZE tasks;
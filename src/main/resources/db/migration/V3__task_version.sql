@@ -0,0 +1,2 @@
+-- Optimistic locking for tasks; existing rows start at version 0
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,27 @@
+-- Transactional outbox for task changes, drained by OutboxRelay
+CREATE SEQUENCE task_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_outbox (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    seq          BIGINT       UNIQUE,
+    type         VARCHAR(16)  NOT NULL,
+    task_id      BIGINT       NOT NULL,
+    user_id      BIGINT,
+    version      BIGINT,
+    payload      JSONB,
+    fields       JSONB,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- The relay's work queue stays small however long the published history grows
+CREATE INDEX idx_task_outbox_unpublished ON task_outbox (id) WHERE seq IS NULL;
+CREATE INDEX idx_task_outbox_published_at ON task_outbox (published_at);
+
+CREATE TABLE outbox_relay_state (
+    name       VARCHAR(64)  NOT NULL PRIMARY KEY,
+    last_seq   BIGINT       NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+INSERT INTO outbox_relay_state (name, last_seq, updated_at) VALUES ('tasks', 0, now());
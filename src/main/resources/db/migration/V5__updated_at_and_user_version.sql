@@ -0,0 +1,4 @@
+-- Validators for conditional GET: ETag from version, Last-Modified from updated_at
+ALTER TABLE tasks ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
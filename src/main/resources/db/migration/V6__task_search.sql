@@ -0,0 +1,11 @@
+-- Full-text search over title (weight A) and description (weight B). The generated column is
+-- recomputed by Postgres on every insert and update, so no write path has to maintain it.
+-- Adding it rewrites the table once; run during a maintenance window on large installs.
+ALTER TABLE tasks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_tasks_search ON tasks USING GIN (search_vector);
+
+ANALYZE tasks;
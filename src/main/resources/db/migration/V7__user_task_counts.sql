@@ -0,0 +1,26 @@
+-- Per-user task counters, adjusted in the same transaction as every task write (TaskCounterRecorder)
+CREATE TABLE user_task_counts (
+    user_id         BIGINT NOT NULL PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    todo            BIGINT NOT NULL DEFAULT 0,
+    in_progress     BIGINT NOT NULL DEFAULT 0,
+    completed       BIGINT NOT NULL DEFAULT 0,
+    low_priority    BIGINT NOT NULL DEFAULT 0,
+    medium_priority BIGINT NOT NULL DEFAULT 0,
+    high_priority   BIGINT NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+INSERT INTO user_task_counts (user_id, todo, in_progress, completed, low_priority, medium_priority, high_priority)
+SELECT u.id,
+       count(t.id) FILTER (WHERE t.status = 'TODO'),
+       count(t.id) FILTER (WHERE t.status = 'IN_PROGRESS'),
+       count(t.id) FILTER (WHERE t.status = 'COMPLETED'),
+       count(t.id) FILTER (WHERE t.priority = 'LOW'),
+       count(t.id) FILTER (WHERE t.priority = 'MEDIUM'),
+       count(t.id) FILTER (WHERE t.priority = 'HIGH')
+FROM users u
+LEFT JOIN tasks t ON t.user_id = u.id
+GROUP BY u.id;
+
+-- Overdue depends on the clock, not on writes: counted per user from the open tasks only
+CREATE INDEX idx_tasks_user_open_due_date ON tasks (user_id, due_date) WHERE status <> 'COMPLETED';
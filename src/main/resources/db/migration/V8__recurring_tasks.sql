@@ -0,0 +1,22 @@
+-- Recurring tasks: occurrences are computed from the rule when read, so only the series row is stored
+CREATE TABLE recurring_tasks (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title           VARCHAR(255)  NOT NULL,
+    description     VARCHAR(255),
+    priority        task_priority,
+    recurrence_rule VARCHAR(255)  NOT NULL,
+    start_date      DATE          NOT NULL,
+    user_id         BIGINT        NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    version         BIGINT        NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_recurring_tasks_user_start ON recurring_tasks (user_id, start_date);
+
+-- An occurrence that was modified or completed becomes an ordinary task row, linked here to its series and date
+CREATE TABLE task_occurrences (
+    task_id         BIGINT NOT NULL PRIMARY KEY REFERENCES tasks (id) ON DELETE CASCADE,
+    series_id       BIGINT NOT NULL REFERENCES recurring_tasks (id) ON DELETE CASCADE,
+    occurrence_date DATE   NOT NULL,
+    CONSTRAINT uq_task_occurrences_series_date UNIQUE (series_id, occurrence_date)
+);
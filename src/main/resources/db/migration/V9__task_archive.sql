@@ -0,0 +1,32 @@
+-- Completed tasks past the archival age move here (TaskArchiver), keeping tasks and its indexes sized to active work.
+-- Hash partitions on id: the getTaskById fallback prunes to one partition, and each partition's index stays small.
+CREATE TABLE task_archive (
+    id              BIGINT        NOT NULL PRIMARY KEY,
+    title           VARCHAR(255)  NOT NULL,
+    description     VARCHAR(255),
+    priority        task_priority,
+    status          task_status   NOT NULL,
+    due_date        DATE,
+    user_id         BIGINT        NOT NULL,
+    version         BIGINT,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE,
+    series_id       BIGINT,
+    occurrence_date DATE,
+    archived_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL
+) PARTITION BY HASH (id);
+
+CREATE TABLE task_archive_p0 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE task_archive_p1 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE task_archive_p2 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE task_archive_p3 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE task_archive_p4 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE task_archive_p5 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE task_archive_p6 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE task_archive_p7 PARTITION OF task_archive FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+CREATE INDEX idx_task_archive_user ON task_archive (user_id);                    -- counter recount, user delete
+CREATE INDEX idx_task_archive_series_date ON task_archive (series_id, occurrence_date)
+    WHERE series_id IS NOT NULL;                                                 -- archived recurring occurrences
+
+-- Archival candidate scan, oldest completed first
+CREATE INDEX idx_tasks_completed_updated_at ON tasks (updated_at, id) WHERE status = 'COMPLETED';
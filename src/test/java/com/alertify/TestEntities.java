@@ -0,0 +1,27 @@
+package com.alertify;
+
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+
+import java.time.LocalDate;
+
+/**
+ * Unsaved entities for test setup, for tests whose assertions do not depend on the field values.
+ */
+public final class TestEntities {
+
+    private TestEntities() {
+    }
+
+    public static User user(String name) {
+        return new User(null, name, "hash", name + "@example.com", null, null, null);
+    }
+
+    // Open, high priority and due in three days: not overdue, not yet due soon for the alert scheduler
+    public static Task task(User user) {
+        return new Task(null, "write report", "quarterly", TaskPriority.HIGH, TaskStatus.TODO,
+                LocalDate.now().plusDays(3), user, null, null);
+    }
+}
@@ -0,0 +1,154 @@
+package com.alertify.alerts;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.TaskAlert;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.AlertType;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.AlertCheckpointRepository;
+import com.alertify.repository.AlertLateArrivalRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class DueDateAlertSchedulerTest {
+
+    @TestConfiguration
+    static class InMemorySinkConfig {
+        @Bean
+        @Primary
+        FlakyAlertSink inMemoryAlertSink() {
+            return new FlakyAlertSink();
+        }
+    }
+
+    static class FlakyAlertSink extends InMemoryAlertSink {
+        private volatile boolean failNext;
+
+        @Override
+        public void dispatch(List<TaskAlert> batch) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("sink unavailable");
+            }
+            super.dispatch(batch);
+        }
+    }
+
+    @Autowired
+    private DueDateAlertScheduler scheduler;
+
+    @Autowired
+    private FlakyAlertSink sink;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AlertCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AlertLateArrivalRepository lateArrivalRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestEntities.user("alerts"));
+        sink.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        checkpointRepository.deleteAllInBatch();
+        lateArrivalRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void tickAlertsEachOpenTaskOnceWithinItsWindow() {
+        Task dueToday = save("due today", today, TaskStatus.TODO);
+        Task dueTomorrow = save("due tomorrow", today.plusDays(1), TaskStatus.IN_PROGRESS);
+        save("due next week", today.plusDays(7), TaskStatus.TODO);
+        Task overdue = save("overdue", today.minusDays(1), TaskStatus.TODO);
+        save("completed", today.minusDays(1), TaskStatus.COMPLETED);
+        save("beyond lookback", today.minusDays(30), TaskStatus.TODO);
+
+        assertThat(scheduler.tick()).isEqualTo(3);
+        assertThat(sink.getAlerts())
+                .extracting(TaskAlert::type, TaskAlert::taskId)
+                .containsExactlyInAnyOrder(
+                        tuple(AlertType.DUE_SOON, dueToday.getId()),
+                        tuple(AlertType.DUE_SOON, dueTomorrow.getId()),
+                        tuple(AlertType.OVERDUE, overdue.getId()));
+
+        assertThat(scheduler.tick()).isZero();
+        assertThat(sink.getAlerts()).hasSize(3);
+    }
+
+    @Test
+    void taskWrittenBehindTheCheckpointIsAlertedOnNextTick() {
+        save("due tomorrow", today.plusDays(1), TaskStatus.TODO);
+        scheduler.tick();
+        sink.clear();
+
+        TaskDTO late = taskService.createTask(new TaskDTO(null, "late arrival", null, TaskPriority.HIGH,
+                TaskStatus.TODO, today, user.getId(), null, null));
+
+        assertThat(scheduler.tick()).isEqualTo(1);
+        List<TaskAlert> alerts = sink.getAlerts();
+        assertThat(alerts).extracting(TaskAlert::type, TaskAlert::taskId)
+                .containsExactly(tuple(AlertType.DUE_SOON, late.id()));
+        assertThat(scheduler.tick()).isZero();
+    }
+
+    @Test
+    void lateArrivalIsKeptUntilItsDispatchSucceeds() {
+        save("due tomorrow", today.plusDays(1), TaskStatus.TODO);
+        scheduler.tick();
+        sink.clear();
+
+        TaskDTO late = taskService.createTask(new TaskDTO(null, "late arrival", null, TaskPriority.HIGH,
+                TaskStatus.TODO, today, user.getId(), null, null));
+
+        sink.failNext = true;
+        assertThatThrownBy(scheduler::tick).isInstanceOf(IllegalStateException.class);
+        assertThat(sink.getAlerts()).isEmpty();
+        assertThat(lateArrivalRepository.count()).isEqualTo(1);
+
+        assertThat(scheduler.tick()).isEqualTo(1);
+        assertThat(sink.getAlerts()).extracting(TaskAlert::taskId).containsExactly(late.id());
+        assertThat(lateArrivalRepository.count()).isZero();
+    }
+
+    private Task save(String title, LocalDate dueDate, TaskStatus status) {
+        return taskRepository.save(new Task(null, title, null, TaskPriority.MEDIUM, status, dueDate, user, null, null));
+    }
+}
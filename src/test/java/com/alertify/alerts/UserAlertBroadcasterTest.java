@@ -0,0 +1,123 @@
+package com.alertify.alerts;
+
+import com.alertify.TestEntities;
+import com.alertify.changes.ChangeStreamHub;
+import com.alertify.changes.OutboxRelay;
+import com.alertify.dto.TaskAlert;
+import com.alertify.dto.TaskChangeEvent;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.AlertType;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.User;
+import com.alertify.repository.AlertCheckpointRepository;
+import com.alertify.repository.AlertLateArrivalRepository;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class UserAlertBroadcasterTest {
+
+    @Autowired
+    private UserAlertBroadcaster broadcaster;
+
+    @Autowired
+    private DueDateAlertScheduler scheduler;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ChangeStreamHub hub;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private AlertCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AlertLateArrivalRepository lateArrivalRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestEntities.user("alerted"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        checkpointRepository.deleteAllInBatch();
+        lateArrivalRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void dueDateAlertReachesTheUsersStreamButNotTheChangeFeed() {
+        TaskDTO task = taskService.createTask(new TaskDTO(null, "due tomorrow", null, TaskPriority.HIGH,
+                TaskStatus.TODO, LocalDate.now().plusDays(1), user.getId(), null, null));
+        relay.relay();
+        long head = hub.findAfter(0, 1000).stream().mapToLong(TaskChangeEvent::seq).max().orElse(0);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(user.getId(), emitter);
+        assertThat(scheduler.tick()).isEqualTo(1);
+        // Publishing fans the alert out through the hub's listeners to the open stream
+        assertThat(relay.relay()).isEqualTo(1);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !emitter.alerts.isEmpty());
+        assertThat(emitter.alerts).extracting(TaskAlert::type, TaskAlert::taskId)
+                .containsExactly(tuple(AlertType.DUE_SOON, task.id()));
+        assertThat(emitter.eventNames).containsExactly(UserAlertBroadcaster.EVENT_NAME);
+
+        assertThat(hub.findAfter(head, 1000)).extracting(TaskChangeEvent::type)
+                .doesNotContain(TaskChangeType.DUE_SOON, TaskChangeType.OVERDUE);
+    }
+
+    // Records the alerts and event names that would be written to the client
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<TaskAlert> alerts = new CopyOnWriteArrayList<>();
+        private final List<String> eventNames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof TaskAlert alert) {
+                    alerts.add(alert);
+                } else if (part.getData() instanceof String text && text.contains("event:")) {
+                    eventNames.add(text.substring(text.indexOf("event:") + 6, text.indexOf('\n', text.indexOf("event:"))));
+                }
+            });
+        }
+    }
+}
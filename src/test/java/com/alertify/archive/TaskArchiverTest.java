@@ -0,0 +1,187 @@
+package com.alertify.archive;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.RecurringTaskDTO;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskFilter;
+import com.alertify.dto.TaskOccurrenceDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskSortKey;
+import com.alertify.enums.TaskStatus;
+import com.alertify.exceptions.ConflictException;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.model.TaskOutboxEvent;
+import com.alertify.model.User;
+import com.alertify.repository.ArchivedTaskRepository;
+import com.alertify.repository.CancelledOccurrenceRepository;
+import com.alertify.repository.RecurringTaskRepository;
+import com.alertify.repository.TaskOccurrenceRepository;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import com.alertify.service.RecurringTaskService;
+import com.alertify.service.TaskService;
+import com.alertify.service.TaskStatsService;
+import com.alertify.stats.TaskCountReconciler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TaskArchiverTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private RecurringTaskService recurringTaskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskCountReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private RecurringTaskRepository recurringTaskRepository;
+
+    @Autowired
+    private TaskOccurrenceRepository occurrenceRepository;
+
+    @Autowired
+    private CancelledOccurrenceRepository cancelledOccurrenceRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserTaskCountsRepository countsRepository;
+
+    @AfterEach
+    void cleanUp() {
+        archivedTaskRepository.deleteAllInBatch();
+        cancelledOccurrenceRepository.deleteAllInBatch();
+        occurrenceRepository.deleteAllInBatch();
+        recurringTaskRepository.deleteAllInBatch();
+        outboxRepository.deleteAllInBatch();
+        countsRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void oldCompletedTasksMoveToTheArchiveAndStayReadable() {
+        User user = userRepository.save(TestEntities.user("archie"));
+        TaskDTO oldDone = taskService.createTask(task("shipped", TaskStatus.COMPLETED, user));
+        TaskDTO recentDone = taskService.createTask(task("merged", TaskStatus.COMPLETED, user));
+        TaskDTO oldOpen = taskService.createTask(task("backlog", TaskStatus.TODO, user));
+        RecurringTaskDTO standup = recurringTaskService.createRecurringTask(new RecurringTaskDTO(null, "standup", null,
+                TaskPriority.LOW, "FREQ=DAILY", MONDAY, user.getId(), null, null));
+        TaskPatchDTO done = new TaskPatchDTO();
+        done.setStatus(TaskStatus.COMPLETED);
+        Long occurrenceId = recurringTaskService.patchOccurrence(standup.id(), MONDAY, null, done);
+        backdate(List.of(oldDone.id(), oldOpen.id(), occurrenceId));
+
+        assertThat(archiver.archive()).isEqualTo(2);
+        assertThat(archiver.archive()).isZero();
+
+        assertThat(taskService.getAllTasks(new TaskFilter(null, null, user.getId(), null, null), TaskSortKey.ID, null, 50)
+                .items()).extracting(TaskDTO::id).containsExactly(recentDone.id(), oldOpen.id());
+        assertThat(taskService.getTaskById(oldDone.id()))
+                .usingRecursiveComparison().ignoringFields("updatedAt").isEqualTo(oldDone);
+        assertThat(taskService.getTaskVersion(oldDone.id()).version()).isEqualTo(oldDone.version());
+        assertThat(outboxRepository.findAll()).filteredOn(event -> event.getType() == TaskChangeType.ARCHIVED)
+                .extracting(TaskOutboxEvent::getTaskId).containsExactlyInAnyOrder(oldDone.id(), occurrenceId);
+
+        // Archived tasks keep counting, so archival leaves the counters consistent with a recount
+        assertThat(taskStatsService.getUserTaskStats(user.getId()).byStatus()).containsEntry(TaskStatus.COMPLETED, 3L);
+        assertThat(reconciler.reconcile().mismatched()).isZero();
+
+        // The archived occurrence is still materialized and cannot be stored again
+        List<TaskOccurrenceDTO> occurrences = recurringTaskService.getOccurrences(standup.id(), MONDAY, MONDAY.plusDays(1));
+        assertThat(occurrences.get(0).materialized()).isTrue();
+        assertThat(occurrences.get(0).task().id()).isEqualTo(occurrenceId);
+        assertThat(occurrences.get(1).materialized()).isFalse();
+        assertThatThrownBy(() -> recurringTaskService.patchOccurrence(standup.id(), MONDAY, null, done))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void archivedTasksRejectWritesButCanBeDeleted() {
+        User user = userRepository.save(TestEntities.user("tidy"));
+        TaskDTO oldDone = taskService.createTask(task("shipped", TaskStatus.COMPLETED, user));
+        RecurringTaskDTO standup = recurringTaskService.createRecurringTask(new RecurringTaskDTO(null, "standup", null,
+                TaskPriority.LOW, "FREQ=DAILY", MONDAY, user.getId(), null, null));
+        TaskPatchDTO done = new TaskPatchDTO();
+        done.setStatus(TaskStatus.COMPLETED);
+        Long occurrenceId = recurringTaskService.patchOccurrence(standup.id(), MONDAY, null, done);
+        backdate(List.of(oldDone.id(), occurrenceId));
+        assertThat(archiver.archive()).isEqualTo(2);
+
+        TaskPatchDTO reopen = new TaskPatchDTO();
+        reopen.setStatus(TaskStatus.TODO);
+        assertThatThrownBy(() -> taskService.updateTask(oldDone.id(), task("again", TaskStatus.TODO, user)))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> taskService.patchTask(oldDone.id(), oldDone.version(), reopen))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> taskService.assignTaskToUser(oldDone.id(), user.getId()))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> taskService.updateTask(Long.MAX_VALUE, task("none", TaskStatus.TODO, user)))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        taskService.deleteTask(oldDone.id());
+        recurringTaskService.deleteOccurrence(standup.id(), MONDAY);
+
+        assertThat(archivedTaskRepository.count()).isZero();
+        assertThatThrownBy(() -> taskService.getTaskById(oldDone.id())).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> taskService.deleteTask(oldDone.id())).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(outboxRepository.findAll()).filteredOn(event -> event.getType() == TaskChangeType.DELETED)
+                .extracting(TaskOutboxEvent::getTaskId).containsExactlyInAnyOrder(oldDone.id(), occurrenceId);
+        assertThat(taskStatsService.getUserTaskStats(user.getId()).total()).isZero();
+        assertThat(reconciler.reconcile().mismatched()).isZero();
+        // The deleted archived occurrence is not computed again
+        assertThat(recurringTaskService.getOccurrences(standup.id(), MONDAY, MONDAY.plusDays(1)))
+                .extracting(TaskOccurrenceDTO::occurrenceDate).containsExactly(MONDAY.plusDays(1));
+    }
+
+    // Written before the archival age, without going through the entity's @UpdateTimestamp
+    private void backdate(List<Long> taskIds) {
+        Timestamp longAgo = Timestamp.from(Instant.now().minus(90, ChronoUnit.DAYS));
+        taskIds.forEach(id -> jdbcTemplate.update("update tasks set updated_at = ? where id = ?", longAgo, id));
+    }
+
+    private static TaskDTO task(String title, TaskStatus status, User user) {
+        return new TaskDTO(null, title, null, TaskPriority.MEDIUM, status, null, user.getId(), null, null);
+    }
+}
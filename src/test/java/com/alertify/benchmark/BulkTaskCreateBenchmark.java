@@ -0,0 +1,102 @@
+package com.alertify.benchmark;
+
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.User;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares task import throughput through POST /api/v1/tasks (one request per task) against
+ * POST /api/v1/tasks/bulk. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkTaskCreateBenchmark {
+
+    private static final int TASKS = 5_000;
+    private static final int BULK_CHUNK = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(new User(null, "bench", "hash", "bench@example.com", null, null, null)).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void singleVersusBulkCreate() throws Exception {
+        List<TaskDTO> tasks = tasks(TASKS);
+
+        long start = System.nanoTime();
+        for (TaskDTO task : tasks) {
+            mockMvc.perform(post("/api/v1/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(task)))
+                    .andExpect(status().isCreated());
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+        taskRepository.deleteAllInBatch();
+
+        start = System.nanoTime();
+        for (int from = 0; from < tasks.size(); from += BULK_CHUNK) {
+            List<TaskDTO> chunk = tasks.subList(from, Math.min(from + BULK_CHUNK, tasks.size()));
+            mockMvc.perform(post("/api/v1/tasks/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(chunk)))
+                    .andExpect(status().isOk());
+        }
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(taskRepository.count()).isEqualTo(TASKS);
+        System.out.printf("single: %.0f tasks/s, bulk (chunks of %d): %.0f tasks/s, speedup %.1fx%n",
+                TASKS / singleSeconds, BULK_CHUNK, TASKS / bulkSeconds, singleSeconds / bulkSeconds);
+    }
+
+    private List<TaskDTO> tasks(int count) {
+        List<TaskDTO> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskDTO(null, "task " + i, "imported", TaskPriority.MEDIUM, TaskStatus.TODO,
+                    LocalDate.now().plusDays(i % 30), userId, null, null));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,248 @@
+package com.alertify.benchmark;
+
+import com.alertify.AlertifyApplication;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.User;
+import com.alertify.repository.UserRepository;
+import com.alertify.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load harness: boots the application on an embedded H2 database in PostgreSQL mode,
+ * drives a mixed read/write workload against the task and user controllers with concurrent
+ * clients, and writes per-endpoint throughput and latency percentiles as JSON to
+ * {@code <alertify.bench.results-dir>/controller-load-<version>.json} for comparison between releases.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ControllerLoadBenchmark}
+ * (-Dalertify.bench.load-clients=N, -Dalertify.bench.load-seconds=S).
+ */
+@Tag("benchmark")
+class ControllerLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("alertify.bench.load-clients", 32);
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Integer.getInteger("alertify.bench.load-seconds", 20));
+    private static final String VERSION = System.getProperty("alertify.bench.version", "dev");
+    private static final int USERS = 100;
+    private static final int TASKS = 5_000;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AlertifyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:controller-load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            List<Long> userIds = seedUsers(context);
+            List<Long> taskIds = seedTasks(context, userIds);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Scenario> scenarios = scenarios("http://localhost:" + port + "/api/v1", userIds, taskIds);
+
+            drive(scenarios, WARMUP);
+            scenarios.forEach(Scenario::reset);
+            drive(scenarios, MEASUREMENT);
+
+            scenarios.forEach(System.out::println);
+            assertThat(scenarios).allSatisfy(scenario -> assertThat(scenario.latencies).isNotEmpty());
+            writeReport(scenarios);
+        }
+    }
+
+    private List<Long> seedUsers(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        List<Long> userIds = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(userRepository.save(new User(null, "load" + i, "hash", "load" + i + "@example.com",
+                    null, null, null)).getId());
+        }
+        return userIds;
+    }
+
+    private List<Long> seedTasks(ConfigurableApplicationContext context, List<Long> userIds) {
+        List<TaskDTO> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(task(i, userIds.get(i % USERS)));
+        }
+        return context.getBean(TaskService.class).bulkCreateTasks(tasks).stream()
+                .map(result -> result.data().id())
+                .toList();
+    }
+
+    // Weighted towards reads, like the production traffic mix
+    private static List<Scenario> scenarios(String base, List<Long> userIds, List<Long> taskIds) {
+        return List.of(
+                new Scenario("GET /tasks/{id}", 4, i -> HttpRequest.newBuilder(
+                        URI.create(base + "/tasks/" + taskIds.get(i % TASKS))).GET().build()),
+                new Scenario("GET /tasks", 2, i -> HttpRequest.newBuilder(
+                        URI.create(base + "/tasks?size=20&status=" + TaskStatus.values()[i % 3])).GET().build()),
+                new Scenario("GET /users/{id}", 2, i -> HttpRequest.newBuilder(
+                        URI.create(base + "/users/" + userIds.get(i % USERS))).GET().build()),
+                new Scenario("GET /users/with-tasks", 1, i -> HttpRequest.newBuilder(
+                        URI.create(base + "/users/with-tasks?size=20")).GET().build()),
+                new Scenario("POST /tasks", 1, i -> HttpRequest.newBuilder(URI.create(base + "/tasks"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                "{\"title\":\"load %d\",\"priority\":\"LOW\",\"status\":\"TODO\",\"dueDate\":\"%s\",\"userId\":%d}",
+                                i, LocalDate.now().plusDays(i % 60), userIds.get(i % USERS))))
+                        .build()));
+    }
+
+    private static void drive(List<Scenario> scenarios, Duration duration) throws Exception {
+        List<Scenario> weighted = new ArrayList<>();
+        scenarios.forEach(scenario -> {
+            for (int w = 0; w < scenario.weight; w++) {
+                weighted.add(scenario);
+            }
+        });
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = weighted.get(random.nextInt(weighted.size()));
+                        HttpRequest request = scenario.request.apply(random.nextInt(Integer.MAX_VALUE));
+                        long requestStart = System.nanoTime();
+                        int status = send(http, request);
+                        scenario.record(status >= 200 && status < 300, System.nanoTime() - requestStart);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        scenarios.forEach(scenario -> scenario.seconds = seconds);
+    }
+
+    private static int send(HttpClient http, HttpRequest request) throws InterruptedException {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static void writeReport(List<Scenario> scenarios) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("benchmark", "controller-load");
+        report.put("version", VERSION);
+        report.put("timestamp", Instant.now().toString());
+        report.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("clients", CLIENTS);
+        report.put("measurementSeconds", MEASUREMENT.toSeconds());
+        report.put("scenarios", scenarios.stream().map(Scenario::summary).toList());
+
+        Path directory = Path.of(System.getProperty("alertify.bench.results-dir", "target"));
+        Files.createDirectories(directory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("controller-load-" + VERSION + ".json").toFile(), report);
+    }
+
+    private static TaskDTO task(int i, Long userId) {
+        return new TaskDTO(null, "task " + i, "seeded for the load harness", TaskPriority.values()[i % 3],
+                TaskStatus.values()[i % 3], LocalDate.now().plusDays(i % 60), userId, null, null);
+    }
+
+    private static final class Scenario {
+
+        private final String name;
+        private final int weight;
+        private final IntFunction<HttpRequest> request;
+        private final List<Long> latencies = new ArrayList<>();
+        private int errors;
+        private double seconds;
+
+        Scenario(String name, int weight, IntFunction<HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        synchronized void record(boolean success, long nanos) {
+            if (success) {
+                latencies.add(nanos);
+            } else {
+                errors++;
+            }
+        }
+
+        synchronized void reset() {
+            latencies.clear();
+            errors = 0;
+        }
+
+        synchronized Map<String, Object> summary() {
+            List<Long> sorted = new ArrayList<>(latencies);
+            sorted.sort(null);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("name", name);
+            summary.put("requests", sorted.size() + errors);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", round(sorted.size() / seconds));
+            summary.put("p50Millis", percentile(sorted, 0.50));
+            summary.put("p95Millis", percentile(sorted, 0.95));
+            summary.put("p99Millis", percentile(sorted, 0.99));
+            summary.put("maxMillis", sorted.isEmpty() ? 0 : round(sorted.getLast() / 1e6));
+            return summary;
+        }
+
+        private static double percentile(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return round(sorted.get(Math.max(0, index)) / 1e6);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+
+        @Override
+        public String toString() {
+            Map<String, Object> summary = summary();
+            return String.format("%-22s requests=%s errors=%s throughput=%s req/s p50=%s ms p99=%s ms", name,
+                    summary.get("requests"), summary.get("errors"), summary.get("throughputPerSecond"),
+                    summary.get("p50Millis"), summary.get("p99Millis"));
+        }
+    }
+}
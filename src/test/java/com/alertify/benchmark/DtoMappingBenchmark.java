@@ -0,0 +1,101 @@
+package com.alertify.benchmark;
+
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.UserDTO;
+import com.alertify.dto.UserSummary;
+import com.alertify.dto.UserWithTasksDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.mapper.DtoMapper;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Entity-to-DTO mapping throughput for the shapes TaskService and UserService return:
+ * a 1k-task page, a 1k-user page and a users-with-tasks page of 100 users with 10 tasks each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final int TASKS_PER_USER = 10;
+
+    private List<Task> tasks;
+    private List<User> users;
+    private List<TaskDTO> taskDTOs;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        Instant updatedAt = Instant.now();
+        users = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> new User((long) i, "user" + i, "{bcrypt}hash", "user" + i + "@example.com",
+                        null, 0L, updatedAt))
+                .toList();
+        tasks = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> new Task((long) i, "Task " + i, "Description of task " + i,
+                        TaskPriority.values()[i % TaskPriority.values().length],
+                        TaskStatus.values()[i % TaskStatus.values().length],
+                        today.plusDays(i % 30), users.get(i % 100), 0L, updatedAt))
+                .toList();
+        taskDTOs = tasks.stream().map(DtoMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<TaskDTO> taskPage() {
+        return tasks.stream().map(DtoMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<UserDTO> userPage() {
+        return users.stream().map(DtoMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<UserWithTasksDTO> usersWithTasksPage() {
+        return IntStream.range(0, PAGE_SIZE / TASKS_PER_USER)
+                .mapToObj(i -> DtoMapper.toDTO(summary(users.get(i)),
+                        taskDTOs.subList(i * TASKS_PER_USER, (i + 1) * TASKS_PER_USER)))
+                .toList();
+    }
+
+    private static UserSummary summary(User user) {
+        return new UserSummary() {
+            @Override
+            public Long getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getUsername() {
+                return user.getUsername();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.alertify.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the JMH benchmarks in this package and writes JSON results to {@code -Djmh.result}
+ * (target/jmh-result.json by default; the benchmark profile names it after the project version).
+ * Run with {@code mvn test -Pbenchmark}; narrow the set with {@code -Djmh.include=<regex>}.
+ */
+@Tag("benchmark")
+class JmhSuiteBenchmark {
+
+    @Test
+    void runJmhBenchmarks() throws Exception {
+        Path result = Path.of(System.getProperty("jmh.result", "target/jmh-result.json"));
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", "com\\.alertify\\.benchmark\\..*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.alertify.benchmark;
+
+import com.alertify.security.jwt.AuthenticationTokenFilter;
+import com.alertify.security.jwt.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of AuthenticationTokenFilter with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private AuthenticationTokenFilter cachedFilter;
+    private AuthenticationTokenFilter uncachedFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        UserDetails user = User.withUsername("bench").password("{noop}secret").roles("USER").build();
+        InMemoryUserDetailsManager userDetailsService = new InMemoryUserDetailsManager(user);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        JwtUtils cachedJwtUtils = new JwtUtils(10_000);
+        cachedFilter = new AuthenticationTokenFilter(cachedJwtUtils, userDetailsService, meterRegistry);
+        uncachedFilter = new AuthenticationTokenFilter(new JwtUtils(0), userDetailsService, meterRegistry);
+        authorizationHeader = "get" + cachedJwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public MockHttpServletRequest filterWithCachedToken() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletRequest filterWithSignatureVerification() throws Exception {
+        return filter(uncachedFilter);
+    }
+
+    private MockHttpServletRequest filter(AuthenticationTokenFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks/1");
+        request.addHeader("Authorization", authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return request;
+    }
+}
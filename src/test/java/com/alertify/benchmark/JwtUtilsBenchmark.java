@@ -0,0 +1,60 @@
+package com.alertify.benchmark;
+
+import com.alertify.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of token generation (signing) and validation, with a full signature check and
+ * with a hit in the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private UserDetails user;
+    private JwtUtils cachedJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = User.withUsername("bench").password("{noop}secret").roles("USER").build();
+        cachedJwtUtils = new JwtUtils(10_000);
+        uncachedJwtUtils = new JwtUtils(0);
+        token = cachedJwtUtils.generateToken(user);
+        cachedJwtUtils.parseValidClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims validateWithSignatureVerification() {
+        return uncachedJwtUtils.parseValidClaims(token);
+    }
+
+    @Benchmark
+    public Claims validateCachedToken() {
+        return cachedJwtUtils.parseValidClaims(token);
+    }
+}
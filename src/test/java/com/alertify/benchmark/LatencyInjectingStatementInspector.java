@@ -0,0 +1,23 @@
+package com.alertify.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Stand-in for a slow database: blocks the calling thread for
+ * {@code alertify.bench.statement-latency-ms} before every SQL statement.
+ */
+public class LatencyInjectingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        long latencyMillis = Long.getLong("alertify.bench.statement-latency-ms", 0);
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,65 @@
+package com.alertify.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded hashing throughput, i.e. hashes per second per core, for each BCrypt cost and for Argon2.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(1)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @State(Scope.Thread)
+    public static class BcryptState {
+        @Param({"4", "8", "10", "12"})
+        public int cost;
+
+        BCryptPasswordEncoder encoder;
+
+        @Setup
+        public void setUp() {
+            encoder = new BCryptPasswordEncoder(cost);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Argon2State {
+        Argon2PasswordEncoder encoder;
+
+        @Setup
+        public void setUp() {
+            encoder = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        }
+    }
+
+    @Benchmark
+    public String bcrypt(BcryptState state) {
+        return state.encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String argon2(Argon2State state) {
+        return state.encoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,177 @@
+package com.alertify.benchmark;
+
+import com.alertify.AlertifyApplication;
+import com.alertify.alerts.UserAlertBroadcaster;
+import com.alertify.dto.TaskAlert;
+import com.alertify.enums.AlertType;
+import com.alertify.model.User;
+import com.alertify.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opens many idle SSE alert streams against a running server, then reports heap per connection
+ * (as connections per GB) and the latency from {@link UserAlertBroadcaster#publish} to the client
+ * reading the event, while one alert is fanned out to every stream. Client and server share the JVM,
+ * so the heap figure is a conservative upper bound. Results are appended to target/sse-fanout.csv.
+ * Run with {@code mvn test -Pbenchmark -Dtest=SseFanoutBenchmark} (-Dalertify.bench.sse-connections=N).
+ */
+@Tag("benchmark")
+class SseFanoutBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("alertify.bench.sse-connections", 5_000);
+    private static final int ROUNDS = 5;
+
+    @Test
+    void idleConnectionsAndFanoutLatency() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AlertifyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:sse-fanout;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "server.tomcat.max-connections=" + (CONNECTIONS + 100),
+                        "alertify.alerts.stream.max-connections=" + (CONNECTIONS + 100),
+                        "logging.level.root=WARN")
+                .run();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            List<Long> userIds = seedUsers(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            UserAlertBroadcaster broadcaster = context.getBean(UserAlertBroadcaster.class);
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+            long heapBefore = usedHeapAfterGc(memory);
+            ConcurrentLinkedQueue<Long> receivedAt = new ConcurrentLinkedQueue<>();
+            long connectStart = System.nanoTime();
+            for (Long userId : userIds) {
+                URI uri = URI.create("http://localhost:" + port + "/api/v1/users/" + userId + "/alerts/stream");
+                http.sendAsync(HttpRequest.newBuilder(uri).GET().build(),
+                        HttpResponse.BodyHandlers.fromLineSubscriber(new ReceiveTimeRecorder(receivedAt)));
+            }
+            awaitCondition(() -> broadcaster.getConnectionCount() == CONNECTIONS, 300);
+            double connectSeconds = (System.nanoTime() - connectStart) / 1e9;
+            long heapAfter = usedHeapAfterGc(memory);
+            double bytesPerConnection = Math.max(1, heapAfter - heapBefore) / (double) CONNECTIONS;
+
+            List<Long> latencies = new ArrayList<>(CONNECTIONS * ROUNDS);
+            for (int round = 0; round < ROUNDS; round++) {
+                receivedAt.clear();
+                long publishStart = System.nanoTime();
+                for (Long userId : userIds) {
+                    broadcaster.publish(new TaskAlert(AlertType.DUE_SOON, (long) round, userId, "bench", LocalDate.now()));
+                }
+                long publishNanos = System.nanoTime() - publishStart;
+                awaitCondition(() -> receivedAt.size() >= CONNECTIONS, 120);
+                receivedAt.forEach(at -> latencies.add(at - publishStart));
+                System.out.printf("round %d: enqueue for %d streams took %.1f ms%n", round, CONNECTIONS, publishNanos / 1e6);
+            }
+            latencies.sort(null);
+
+            FanoutResult result = new FanoutResult(CONNECTIONS, connectSeconds, bytesPerConnection,
+                    (1L << 30) / bytesPerConnection, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    percentile(latencies, 1.0));
+            System.out.println(result);
+            Path report = Path.of("target", "sse-fanout.csv");
+            if (!Files.exists(report)) {
+                Files.writeString(report, "connections,connectSeconds,heapBytesPerConnection,connectionsPerGb," +
+                        "fanoutP50Millis,fanoutP99Millis,fanoutMaxMillis\n");
+            }
+            Files.writeString(report, result.csv(), StandardOpenOption.APPEND);
+            assertThat(latencies).hasSize(CONNECTIONS * ROUNDS);
+        }
+    }
+
+    private List<Long> seedUsers(ConfigurableApplicationContext context) {
+        List<User> users = new ArrayList<>(CONNECTIONS);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            users.add(new User(null, "sse" + i, "hash", "sse" + i + "@example.com", null, null, null));
+        }
+        return context.getBean(UserRepository.class).saveAll(users).stream().map(User::getId).toList();
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void awaitCondition(java.util.function.BooleanSupplier condition, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Timed out waiting for SSE streams");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    // Notes when each alert event arrives; heartbeats and other lines are ignored
+    private record ReceiveTimeRecorder(ConcurrentLinkedQueue<Long> receivedAt) implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("data:")) {
+                receivedAt.add(System.nanoTime());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private record FanoutResult(int connections, double connectSeconds, double bytesPerConnection,
+                                double connectionsPerGb, double p50, double p99, double max) {
+
+        String csv() {
+            return String.format("%d,%.1f,%.0f,%.0f,%.1f,%.1f,%.1f%n",
+                    connections, connectSeconds, bytesPerConnection, connectionsPerGb, p50, p99, max);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("connections=%d connect=%.1fs heap/connection=%.1f KB (~%.0f connections/GB) " +
+                    "fan-out p50=%.1f ms p99=%.1f ms max=%.1f ms",
+                    connections, connectSeconds, bytesPerConnection / 1024, connectionsPerGb, p50, p99, max);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.alertify.benchmark;
+
+import com.alertify.archive.TaskArchiver;
+import com.alertify.dto.CursorPage;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskFilter;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskSortKey;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.User;
+import com.alertify.repository.ArchivedTaskRepository;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import com.alertify.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times getAllTasks listings over a table where most tasks are long completed, before and after
+ * {@link TaskArchiver} moves those to the archive. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TaskArchivalBenchmark {
+
+    private static final int COMPLETED_TASKS = 45_000;
+    private static final int OPEN_TASKS = 5_000;
+    private static final int BULK_CHUNK = 5_000;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserTaskCountsRepository countsRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(new User(null, "bench", "hash", "bench@example.com", null, null, null)).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        archivedTaskRepository.deleteAllInBatch();
+        outboxRepository.deleteAllInBatch();
+        countsRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listingsBeforeAndAfterArchival() {
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i < COMPLETED_TASKS + OPEN_TASKS; i++) {
+            tasks.add(new TaskDTO(null, "task " + i, "seeded", TaskPriority.values()[i % 3],
+                    i < COMPLETED_TASKS ? TaskStatus.COMPLETED : TaskStatus.TODO,
+                    LocalDate.now().plusDays(i % 60), userId, null, null));
+        }
+        for (int from = 0; from < tasks.size(); from += BULK_CHUNK) {
+            taskService.bulkCreateTasks(tasks.subList(from, Math.min(from + BULK_CHUNK, tasks.size())));
+        }
+        jdbcTemplate.update("update tasks set updated_at = ? where status = 'COMPLETED'",
+                Timestamp.from(Instant.now().minus(90, ChronoUnit.DAYS)));
+
+        double[] before = timeListings();
+        long start = System.nanoTime();
+        int archived = 0;
+        for (int run; (run = archiver.archive()) > 0; ) {
+            archived += run;
+        }
+        double archiveSeconds = (System.nanoTime() - start) / 1e9;
+        double[] after = timeListings();
+
+        assertThat(archived).isEqualTo(COMPLETED_TASKS);
+        assertThat(taskRepository.count()).isEqualTo(OPEN_TASKS);
+        System.out.printf("archived %d tasks in %.1f s (%.0f tasks/s), hot table %d -> %d rows%n",
+                archived, archiveSeconds, archived / archiveSeconds, COMPLETED_TASKS + OPEN_TASKS, OPEN_TASKS);
+        System.out.printf("first page by due date: %.2f ms -> %.2f ms%n", before[0], after[0]);
+        System.out.printf("user listing, every page: %.2f ms -> %.2f ms%n", before[1], after[1]);
+        System.out.printf("high priority listing, every page: %.2f ms -> %.2f ms%n", before[2], after[2]);
+    }
+
+    // Mean milliseconds per round of: first page by due date, a user's whole listing, a priority-filtered listing
+    private double[] timeListings() {
+        TaskFilter byUser = new TaskFilter(null, null, userId, null, null);
+        TaskFilter highPriority = new TaskFilter(null, TaskPriority.HIGH, null, null, null);
+        for (int i = 0; i < 3; i++) {
+            listAll(byUser, TaskSortKey.ID);
+        }
+        double[] millis = new double[3];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            taskService.getAllTasks(new TaskFilter(null, null, null, null, null), TaskSortKey.DUE_DATE, null, 50);
+            millis[0] += (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            listAll(byUser, TaskSortKey.ID);
+            millis[1] += (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            listAll(highPriority, TaskSortKey.ID);
+            millis[2] += (System.nanoTime() - start) / 1e6;
+        }
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] /= ROUNDS;
+        }
+        return millis;
+    }
+
+    private void listAll(TaskFilter filter, TaskSortKey sortKey) {
+        String cursor = null;
+        do {
+            CursorPage<TaskDTO> page = taskService.getAllTasks(filter, sortKey, cursor, 500);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.alertify.benchmark;
+
+import com.alertify.config.JacksonConfig;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.util.ApiSuccessResponse;
+import com.alertify.util.CursorPageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialization throughput of a 10k-task page response, with reflective property access,
+ * with Blackbird, and with Blackbird plus {@code ?fields=id,title,status}; plus the plain
+ * {@code ApiSuccessResponse<List<TaskDTO>>} envelope of the bulk endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    private static final int TASKS = 10_000;
+
+    private CursorPageResponse<TaskDTO> page;
+    private ApiSuccessResponse<List<TaskDTO>> listResponse;
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter blackbirdWriter;
+    private ObjectWriter filteredWriter;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        Instant updatedAt = Instant.now();
+        List<TaskDTO> tasks = IntStream.range(0, TASKS)
+                .mapToObj(i -> new TaskDTO((long) i, "Task " + i, "Description of task " + i,
+                        TaskPriority.values()[i % TaskPriority.values().length],
+                        TaskStatus.values()[i % TaskStatus.values().length],
+                        today.plusDays(i % 30), (long) (i % 100), 0L, updatedAt))
+                .toList();
+        page = CursorPageResponse.of(tasks, "next", "Tasks retrieved successfully");
+        listResponse = ApiSuccessResponse.create(tasks, "Tasks retrieved successfully");
+
+        ObjectMapper blackbird = mapper(true);
+        reflectiveWriter = mapper(false).writer();
+        blackbirdWriter = blackbird.writer();
+        filteredWriter = blackbird.writer(JacksonConfig.taskFields(Set.of("id", "title", "status")));
+    }
+
+    @Benchmark
+    public CursorPageResponse<TaskDTO> reflective() throws IOException {
+        return write(reflectiveWriter);
+    }
+
+    @Benchmark
+    public CursorPageResponse<TaskDTO> blackbird() throws IOException {
+        return write(blackbirdWriter);
+    }
+
+    @Benchmark
+    public CursorPageResponse<TaskDTO> blackbirdWithFieldSelection() throws IOException {
+        return write(filteredWriter);
+    }
+
+    @Benchmark
+    public ApiSuccessResponse<List<TaskDTO>> blackbirdListResponse() throws IOException {
+        blackbirdWriter.writeValue(OutputStream.nullOutputStream(), listResponse);
+        return listResponse;
+    }
+
+    // Streams into a sink like the HTTP message converter does, rather than materialising a byte[]
+    private CursorPageResponse<TaskDTO> write(ObjectWriter writer) throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), page);
+        return page;
+    }
+
+    // Same setup as the application's ObjectMapper
+    private static ObjectMapper mapper(boolean blackbird) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().taskFieldsFilterCustomizer().customize(builder);
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.alertify.benchmark;
+
+import com.alertify.AlertifyApplication;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.User;
+import com.alertify.repository.UserRepository;
+import com.alertify.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the task endpoints with many concurrent clients against a slow-database stand-in,
+ * once on Tomcat's platform-thread pool and once on virtual threads, and reports throughput and p99.
+ * Results are appended to target/virtual-thread-load.csv. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final long STATEMENT_LATENCY_MS = 20;
+    private static final int TASKS = 2_000;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        System.setProperty("alertify.bench.statement-latency-ms", "0");
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        Path report = Path.of("target", "virtual-thread-load.csv");
+        if (!Files.exists(report)) {
+            Files.writeString(report, "mode,clients,requests,errors,throughputPerSecond,p50Millis,p99Millis\n");
+        }
+        Files.writeString(report, platform.csv() + virtual.csv(), StandardOpenOption.APPEND);
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AlertifyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=50",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                                LatencyInjectingStatementInspector.class.getName(),
+                        "logging.level.root=WARN")
+                .run()) {
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            System.setProperty("alertify.bench.statement-latency-ms", String.valueOf(STATEMENT_LATENCY_MS));
+            try {
+                return drive(mode, port);
+            } finally {
+                System.setProperty("alertify.bench.statement-latency-ms", "0");
+            }
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        User user = context.getBean(UserRepository.class)
+                .save(new User(null, "load", "hash", "load@example.com", null, null, null));
+        List<TaskDTO> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new TaskDTO(null, "task " + i, null, TaskPriority.values()[i % 3],
+                    TaskStatus.values()[i % 3], LocalDate.now().plusDays(i % 60), user.getId(), null, null));
+        }
+        context.getBean(TaskService.class).bulkCreateTasks(tasks);
+    }
+
+    private LoadResult drive(String mode, int port) throws Exception {
+        String[] statuses = Arrays.stream(TaskStatus.values()).map(Enum::name).toArray(String[]::new);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            long start = System.nanoTime();
+            List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        String status = statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+                        URI uri = URI.create("http://localhost:" + port + "/api/v1/tasks?size=20&status=" + status);
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = send(http, uri);
+                        latencies[r] = response != null && response.statusCode() == 200
+                                ? System.nanoTime() - requestStart
+                                : -1;
+                    }
+                    return latencies;
+                }));
+            }
+
+            List<Long> latencies = new ArrayList<>(CLIENTS * REQUESTS_PER_CLIENT);
+            int errors = 0;
+            for (Future<long[]> future : futures) {
+                for (long latency : future.get()) {
+                    if (latency < 0) {
+                        errors++;
+                    } else {
+                        latencies.add(latency);
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            assertThat(latencies).isNotEmpty();
+            latencies.sort(null);
+            return new LoadResult(mode, latencies.size() + errors, errors, latencies.size() / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private static HttpResponse<Void> send(HttpClient http, URI uri) throws InterruptedException {
+        try {
+            return http.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    private record LoadResult(String mode, int requests, int errors, double throughput, double p50, double p99) {
+
+        String csv() {
+            return String.format("%s,%d,%d,%d,%.1f,%.1f,%.1f%n", mode, CLIENTS, requests, errors, throughput, p50, p99);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s requests=%d errors=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms",
+                    mode, requests, errors, throughput, p50, p99);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.alertify.changes;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.TaskChangeEvent;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.model.User;
+import com.alertify.repository.OutboxRelayStateRepository;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    @TestConfiguration
+    static class InMemoryBrokerConfig {
+        @Bean
+        @Primary
+        InMemoryChangeEventBroker inMemoryChangeEventBroker() {
+            return new InMemoryChangeEventBroker();
+        }
+    }
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ChangeStreamHub hub;
+
+    @Autowired
+    private InMemoryChangeEventBroker broker;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxRelayStateRepository stateRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+        stateRepository.deleteAllInBatch();
+        user = userRepository.save(TestEntities.user("subscriber"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        stateRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        broker.clear();
+    }
+
+    @Test
+    void relayPublishesEveryMutationInOrderWithSequenceNumbers() {
+        TaskDTO task = taskService.createTask(new TaskDTO(null, "draft", null, TaskPriority.LOW,
+                TaskStatus.TODO, LocalDate.now().plusDays(5), user.getId(), null, null));
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setStatus(TaskStatus.IN_PROGRESS);
+        taskService.patchTask(task.id(), task.version(), patch);
+        taskService.deleteTask(task.id());
+
+        assertThat(broker.getEvents()).isEmpty();
+        assertThat(relay.relay()).isEqualTo(3);
+
+        assertThat(broker.getEvents())
+                .extracting(TaskChangeEvent::seq, TaskChangeEvent::type, TaskChangeEvent::taskId)
+                .containsExactly(
+                        tuple(1L, TaskChangeType.CREATED, task.id()),
+                        tuple(2L, TaskChangeType.PATCHED, task.id()),
+                        tuple(3L, TaskChangeType.DELETED, task.id()));
+        TaskChangeEvent patched = broker.getEvents().get(1);
+        assertThat(patched.fields()).containsExactly("status");
+        assertThat(patched.task().status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(patched.version()).isEqualTo(task.version() + 1);
+
+        // Already published rows are not relayed again
+        assertThat(relay.relay()).isZero();
+    }
+
+    @Test
+    void clientsResumeFromASequenceNumberAndReceiveOnlyDeltas() {
+        TaskDTO first = taskService.createTask(new TaskDTO(null, "first", null, TaskPriority.LOW,
+                TaskStatus.TODO, null, user.getId(), null, null));
+        relay.relay();
+        long resumeFrom = hub.findAfter(0, 100).get(0).seq();
+
+        taskService.assignTaskToUser(first.id(), user.getId());
+        relay.relay();
+
+        List<TaskChangeEvent> delta = hub.findAfter(resumeFrom, 100);
+        assertThat(delta).extracting(TaskChangeEvent::type).containsExactly(TaskChangeType.ASSIGNED);
+        assertThat(hub.findAfter(delta.get(0).seq(), 100)).isEmpty();
+    }
+
+    @Test
+    void rolledBackChangesAreNeverPublished() {
+        TaskDTO orphan = new TaskDTO(null, "orphan", null, TaskPriority.LOW, TaskStatus.TODO, null, Long.MAX_VALUE, null, null);
+        assertThatThrownBy(() -> taskService.createTask(orphan)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(relay.relay()).isZero();
+        assertThat(broker.getEvents()).isEmpty();
+    }
+}
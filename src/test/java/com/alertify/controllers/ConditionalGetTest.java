@@ -0,0 +1,163 @@
+package com.alertify.controllers;
+
+import com.alertify.TestEntities;
+import com.alertify.config.CacheConfig;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.UserDTO;
+import com.alertify.mapper.DtoMapper;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.service.TaskService;
+import com.alertify.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void unchangedTaskIsAnsweredWith304UntilItChanges() throws Exception {
+        User user = userRepository.save(TestEntities.user("etag"));
+        Task task = taskRepository.save(TestEntities.task(user));
+        String eTag = mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType("application/json")
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (task.getVersion() + 1) + "\""));
+    }
+
+    @Test
+    void wildcardPatchOfDeletedTaskIsNotFound() throws Exception {
+        User user = userRepository.save(TestEntities.user("gone"));
+        Task task = taskRepository.save(TestEntities.task(user));
+        mockMvc.perform(delete("/api/v1/tasks/{id}", task.getId()))
+                .andExpect(status().isOk());
+
+        // If-Match: * skips the version check, so only the missing row can fail the update
+        mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType("application/json")
+                        .content("{\"title\":\"too late\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unchangedUsersWithTasksPageIsAnsweredWith304WithoutLoadingRows() throws Exception {
+        User user = userRepository.save(TestEntities.user("page"));
+        taskRepository.save(TestEntities.task(user));
+        String eTag = mockMvc.perform(get("/api/v1/users/with-tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/users/with-tasks").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        // The page's user ids and one aggregate row; no entity or DTO rows
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        taskRepository.save(TestEntities.task(user));
+        mockMvc.perform(get("/api/v1/users/with-tasks").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void readThatOverlapsAWriteDoesNotCacheTheOldVersion() throws Exception {
+        User user = userRepository.save(TestEntities.user("racer"));
+        Task task = taskRepository.save(TestEntities.task(user));
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setTitle("edited while being read");
+        UserDTO rename = new UserDTO(null, "renamed", "renamed@example.com", null, null, null);
+
+        // Each read loads the row, then the write commits and evicts before the read would store it
+        TaskDTO staleTask = cacheManager.getCache(CacheConfig.TASKS).get(task.getId(), () -> {
+            TaskDTO loaded = DtoMapper.toDTO(taskRepository.findById(task.getId()).orElseThrow());
+            taskService.patchTask(task.getId(), null, patch);
+            return loaded;
+        });
+        UserDTO staleUser = cacheManager.getCache(CacheConfig.USERS).get(user.getId(), () -> {
+            UserDTO loaded = DtoMapper.toDTO(userRepository.findById(user.getId()).orElseThrow());
+            userService.updateUser(user.getId(), rename);
+            return loaded;
+        });
+
+        assertThat(taskService.getTaskVersion(task.getId()).version()).isEqualTo(staleTask.version() + 1);
+        assertThat(userService.getUserVersion(user.getId()).version()).isEqualTo(staleUser.version() + 1);
+        mockMvc.perform(get("/api/v1/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + staleTask.version() + "\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (staleTask.version() + 1) + "\""));
+        assertThat(taskService.getTaskById(task.getId()).title()).isEqualTo("edited while being read");
+        assertThat(userService.getUserById(user.getId()).username()).isEqualTo("renamed");
+    }
+}
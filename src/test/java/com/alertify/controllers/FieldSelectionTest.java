@@ -0,0 +1,64 @@
+package com.alertify.controllers;
+
+import com.alertify.TestEntities;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FieldSelectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void fieldsParameterNarrowsTasksInPagesAndSingleReads() throws Exception {
+        User user = userRepository.save(TestEntities.user("fields"));
+        Task task = taskRepository.save(TestEntities.task(user));
+
+        mockMvc.perform(get("/api/v1/tasks").param("fields", "id,title,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(task.getId()))
+                .andExpect(jsonPath("$.data[0].title").value("write report"))
+                .andExpect(jsonPath("$.data[0].status").value("TODO"))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data[0].dueDate").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.description").value("quarterly"))
+                .andExpect(jsonPath("$.data.userId").value(user.getId()));
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,69 @@
+package com.alertify.controllers;
+
+import com.alertify.TestEntities;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void tasksExportAsNdjsonAndCsvInIdOrder() throws Exception {
+        User user = userRepository.save(TestEntities.user("exporter"));
+        Task first = taskRepository.save(new Task(null, "plan", "q3, draft", TaskPriority.HIGH, TaskStatus.TODO,
+                LocalDate.of(2026, 5, 1), user, null, null));
+        Task second = taskRepository.save(new Task(null, "ship", null, null, TaskStatus.COMPLETED, null, user, null, null));
+
+        String ndjson = export("NDJSON");
+        assertThat(ndjson.lines().toList()).hasSize(2);
+        assertThat(ndjson.lines().findFirst().orElseThrow())
+                .contains("\"id\":" + first.getId(), "\"title\":\"plan\"", "\"userId\":" + user.getId())
+                .doesNotContain("hash");
+
+        assertThat(export("CSV").lines().toList()).containsExactly(
+                "id,title,description,priority,status,dueDate,userId",
+                first.getId() + ",plan,\"q3, draft\",HIGH,TODO,2026-05-01," + user.getId(),
+                second.getId() + ",ship,,,COMPLETED,," + user.getId());
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks/export").param("format", format))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+    }
+}
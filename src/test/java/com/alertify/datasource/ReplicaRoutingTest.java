@@ -0,0 +1,145 @@
+package com.alertify.datasource;
+
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The "replica" is a second pool on the same in-memory database, so routing is observed through the route counters.
+// Its own database keeps this context's create-drop schema away from the one shared by the other test contexts.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.DATABASE_URL,
+        "alertify.datasource.replicas.enabled=true",
+        "alertify.datasource.replicas.urls=" + ReplicaRoutingTest.DATABASE_URL,
+        "alertify.datasource.replicas.lag-query=select 0",
+        "alertify.datasource.replicas.lag-check.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    static final String DATABASE_URL = "jdbc:h2:mem:alertify_replicas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTaskCountsRepository countsRepository;
+
+    @AfterEach
+    void cleanUp() {
+        countsRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicasWithinMaxLag() {
+        lagMonitor.check();
+        double replicaRoutes = routes("replica-0");
+        double primaryRoutes = routes("primary");
+
+        readOnly();
+        assertThat(routes("replica-0")).isEqualTo(replicaRoutes + 1);
+
+        // Read-write work never consults the replica router
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository.count());
+        assertThat(routes("replica-0")).isEqualTo(replicaRoutes + 1);
+
+        routingDataSource.updateLag(0, Duration.ofSeconds(30));
+        readOnly();
+        assertThat(routes("primary")).isEqualTo(primaryRoutes + 1);
+
+        lagMonitor.check();
+        readOnly();
+        assertThat(routes("replica-0")).isEqualTo(replicaRoutes + 2);
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() throws Exception {
+        lagMonitor.check();
+        mockMvc.perform(post("/api/v1/users")
+                        .with(request -> address(request, "10.0.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"writer\",\"email\":\"writer@example.com\",\"password\":\"secret\"}"))
+                .andExpect(status().isCreated());
+        double replicaRoutes = routes("replica-0");
+        double primaryRoutes = routes("primary");
+
+        mockMvc.perform(get("/api/v1/users").with(request -> address(request, "10.0.0.1")))
+                .andExpect(status().isOk());
+        assertThat(routes("primary")).isEqualTo(primaryRoutes + 1);
+        assertThat(routes("replica-0")).isEqualTo(replicaRoutes);
+
+        mockMvc.perform(get("/api/v1/users").with(request -> address(request, "10.0.0.2")))
+                .andExpect(status().isOk());
+        assertThat(routes("replica-0")).isEqualTo(replicaRoutes + 1);
+    }
+
+    @Test
+    void writeCookiePinsReadsToThePrimaryWithoutTheNodesMemory() throws Exception {
+        lagMonitor.check();
+        Cookie primaryUntil = mockMvc.perform(post("/api/v1/users")
+                        .with(request -> address(request, "10.0.0.3"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"roamer\",\"email\":\"roamer@example.com\",\"password\":\"secret\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        double replicaRoutes = routes("replica-0");
+        double primaryRoutes = routes("primary");
+
+        // A client address this node never saw write, as when a load balancer sends the read elsewhere
+        mockMvc.perform(get("/api/v1/users").with(request -> address(request, "10.0.0.4")).cookie(primaryUntil))
+                .andExpect(status().isOk());
+        assertThat(routes("primary")).isEqualTo(primaryRoutes + 1);
+        assertThat(routes("replica-0")).isEqualTo(replicaRoutes);
+    }
+
+    private void readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> userRepository.findIdsAfter(0L, Limit.of(1)));
+    }
+
+    private double routes(String target) {
+        return meterRegistry.get("alertify.datasource.read.routes").tag("target", target).counter().count();
+    }
+
+    private static MockHttpServletRequest address(MockHttpServletRequest request, String address) {
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
@@ -0,0 +1,34 @@
+package com.alertify.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class CacheMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Prometheus drops every meter whose tag keys differ from the first one registered under the same name
+    @Test
+    void everyCacheIsScrapedWithTheSameTagKeys() throws Exception {
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape).containsPattern("cache_gets_total\\{cache=\"tasks\",[^}]*result=\"hit\"");
+        assertThat(scrape).containsPattern("cache_gets_total\\{cache=\"users\",[^}]*result=\"hit\"");
+        assertThat(scrape).containsPattern("cache_gets_total\\{cache=\"userDetails\",[^}]*result=\"hit\"");
+        assertThat(scrape).containsPattern("cache_gets_total\\{cache=\"rateLimitBuckets\",[^}]*result=\"hit\"");
+    }
+}
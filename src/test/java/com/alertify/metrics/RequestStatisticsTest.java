@@ -0,0 +1,88 @@
+package com.alertify.metrics;
+
+import com.alertify.TestEntities;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class RequestStatisticsTest {
+
+    private static final String TASK_URI = "/api/v1/tasks/{id}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void repeatedTaskReadIsServedFromCacheWithoutQueries() throws Exception {
+        User user = userRepository.save(TestEntities.user("metrics"));
+        Task task = taskRepository.save(TestEntities.task(user));
+
+        mockMvc.perform(get(TASK_URI, task.getId())).andExpect(status().isOk());
+        double queriesOnMiss = summary("alertify.request.queries").totalAmount();
+        assertThat(queriesOnMiss).isPositive();
+        assertThat(summary("alertify.request.cache.misses").totalAmount()).isPositive();
+
+        mockMvc.perform(get(TASK_URI, task.getId())).andExpect(status().isOk());
+        assertThat(summary("alertify.request.queries").count()).isEqualTo(2);
+        assertThat(summary("alertify.request.queries").totalAmount()).isEqualTo(queriesOnMiss);
+        assertThat(summary("alertify.request.cache.hits").totalAmount()).isPositive();
+    }
+
+    @Test
+    void prometheusEndpointExposesApplicationAndPoolMeters() throws Exception {
+        mockMvc.perform(get("/api/v1/users/with-tasks")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("alertify_request_queries_count")
+                .contains("alertify_jwt_filter_seconds")
+                .contains("alertify_password_hashing_seconds")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_statements_total");
+    }
+
+    private DistributionSummary summary(String name) {
+        return meterRegistry.get(name).tag("uri", TASK_URI).tag("method", "GET").summary();
+    }
+}
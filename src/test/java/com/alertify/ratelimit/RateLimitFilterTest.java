@@ -0,0 +1,98 @@
+package com.alertify.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 20 tokens of burst, refilled at 10 per second
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(20, 10, 1000, nanos::get);
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(meterRegistry,
+            2, 1, 4, Duration.ofMillis(20), Duration.ofHours(1));
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimiter, concurrencyLimiter, meterRegistry,
+            true, true, 1, 2, 5, 10, 20, 20, 50);
+
+    @Test
+    void listingsDrainTheBucketFasterThanPointReads() throws Exception {
+        assertThat(dispatch("GET", "/api/v1/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(dispatch("GET", "/api/v1/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = dispatch("GET", "/api/v1/tasks/7", "10.0.0.1");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        // Other clients have their own bucket
+        assertThat(dispatch("GET", "/api/v1/tasks/7", "10.0.0.2").getStatus()).isEqualTo(200);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(dispatch("GET", "/api/v1/tasks/7", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(dispatch("GET", "/api/v1/tasks/7", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.get("alertify.ratelimit.rejected").tag("reason", "rate_limited").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void endpointCostsFollowTheRuleTable() {
+        assertThat(filter.cost(request("GET", "/api/v1/users/with-tasks", "a"))).isEqualTo(20);
+        assertThat(filter.cost(request("GET", "/api/v1/tasks/export", "a"))).isEqualTo(50);
+        assertThat(filter.cost(request("GET", "/api/v1/tasks/search", "a"))).isEqualTo(5);
+        assertThat(filter.cost(request("POST", "/api/v1/tasks/bulk", "a"))).isEqualTo(20);
+        assertThat(filter.cost(request("PUT", "/api/v1/tasks/bulk/assign", "a"))).isEqualTo(20);
+        assertThat(filter.cost(request("PATCH", "/api/v1/tasks/3", "a"))).isEqualTo(2);
+        assertThat(filter.cost(request("GET", "/api/v1/users/3/task-stats", "a"))).isEqualTo(1);
+    }
+
+    @Test
+    void shedsRequestsOverTheConcurrencyLimitAndAdaptsToPoolCongestion() throws Exception {
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        // Both slots are held while the inner request is dispatched
+        FilterChain holdsSecondSlot = (req, res) ->
+                filter.doFilter(request("GET", "/api/v1/tasks/2", "10.0.0.9"), new MockHttpServletResponse(),
+                        (innerReq, innerRes) -> filter.doFilter(request("GET", "/api/v1/tasks/3", "10.0.0.8"), shed,
+                                new MockFilterChain()));
+        filter.doFilter(request("GET", "/api/v1/tasks/1", "10.0.0.7"), new MockHttpServletResponse(), holdsSecondSlot);
+
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(dispatch("GET", "/api/v1/tasks/4", "10.0.0.7").getStatus()).isEqualTo(200);
+
+        concurrencyLimiter.adjust(false);
+        assertThat(concurrencyLimiter.limit()).isEqualTo(3);
+        concurrencyLimiter.adjust(false);
+        assertThat(concurrencyLimiter.limit()).as("grows only after the limit was reached").isEqualTo(3);
+        concurrencyLimiter.adjust(true);
+        assertThat(concurrencyLimiter.limit()).isEqualTo(2);
+        concurrencyLimiter.adjust(true);
+        assertThat(concurrencyLimiter.limit()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesNonApiRequestsAlone() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            assertThat(dispatch("GET", "/actuator/health", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse dispatch(String method, String uri, String address) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, address), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.alertify.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies every Flyway migration to an empty Postgres schema. The other tests build their schema with
+ * Hibernate on H2 and never run the migrations, so this is what catches a broken script. Like
+ * {@link TaskQueryPlanTest} it only runs when {@code ALERTIFY_PG_URL} is set.
+ */
+@EnabledIfEnvironmentVariable(named = "ALERTIFY_PG_URL", matches = ".+")
+class FlywayMigrationTest {
+
+    private static final String SCHEMA = "alertify_migration_check";
+
+    private static String url;
+    private static String user;
+    private static String password;
+    private static Connection connection;
+
+    @BeforeAll
+    static void dropSchema() throws SQLException {
+        url = System.getenv("ALERTIFY_PG_URL");
+        user = System.getenv().getOrDefault("ALERTIFY_PG_USER", "postgres");
+        password = System.getenv().getOrDefault("ALERTIFY_PG_PASSWORD", "");
+
+        connection = DriverManager.getConnection(url, user, password);
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @AfterAll
+    static void cleanUp() throws SQLException {
+        if (connection != null) {
+            execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            connection.close();
+        }
+    }
+
+    @Test
+    void allMigrationsApplyToAnEmptySchema() throws Exception {
+        Flyway flyway = flyway();
+
+        MigrateResult result = flyway.migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrationsExecuted).isEqualTo(migrationScriptCount());
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied())
+                .extracting(MigrationInfo::getState)
+                .containsOnly(MigrationState.SUCCESS);
+        assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+
+        // A second run on an up-to-date schema is a no-op
+        assertThat(flyway.migrate().migrationsExecuted).isZero();
+
+        assertThat(tables()).contains("users", "tasks", "alert_checkpoints", "task_outbox", "outbox_relay_state",
+                "user_task_counts", "recurring_tasks", "task_occurrences", "task_archive", "alert_late_arrivals",
+                "cancelled_occurrences");
+    }
+
+    private static Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(url, user, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .load();
+    }
+
+    private static int migrationScriptCount() throws IOException {
+        return new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/V*__*.sql").length;
+    }
+
+    private static List<String> tables() throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT table_name FROM information_schema.tables " +
+                     "WHERE table_schema = '" + SCHEMA + "'")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
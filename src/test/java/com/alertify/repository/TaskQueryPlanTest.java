@@ -0,0 +1,131 @@
+package com.alertify.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real Postgres and checks that the hot task queries are
+ * planned onto their indexes. H2 has no comparable planner, so this only runs when
+ * {@code ALERTIFY_PG_URL} (plus optional {@code ALERTIFY_PG_USER}/{@code ALERTIFY_PG_PASSWORD}) is set.
+ */
+@EnabledIfEnvironmentVariable(named = "ALERTIFY_PG_URL", matches = ".+")
+class TaskQueryPlanTest {
+
+    private static final String SCHEMA = "alertify_plan_check";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        String url = System.getenv("ALERTIFY_PG_URL");
+        String user = System.getenv().getOrDefault("ALERTIFY_PG_USER", "postgres");
+        String password = System.getenv().getOrDefault("ALERTIFY_PG_PASSWORD", "");
+
+        connection = DriverManager.getConnection(url, user, password);
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        execute("SET search_path TO " + SCHEMA);
+        execute("INSERT INTO users (username, password, email) " +
+                "SELECT 'user' || g, 'x', 'user' || g || '@example.com' FROM generate_series(1, 2000) g");
+        // Mostly completed tasks, as in a long-lived install, so the open-task index is much smaller
+        execute("INSERT INTO tasks (id, title, priority, status, due_date, user_id) " +
+                "SELECT g, 'task ' || g, " +
+                "(ARRAY['LOW', 'MEDIUM', 'HIGH'])[1 + g % 3]::task_priority, " +
+                "CASE WHEN g % 20 = 0 THEN 'IN_PROGRESS' WHEN g % 4 = 0 THEN 'TODO' ELSE 'COMPLETED' END::task_status, " +
+                "DATE '2025-01-01' + (g % 730), " +
+                "1 + g % 2000 " +
+                "FROM generate_series(1, 200000) g");
+        execute("ANALYZE users");
+        execute("ANALYZE tasks");
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        if (connection != null) {
+            execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            connection.close();
+        }
+    }
+
+    @Test
+    void dueDateAlertScanUsesOpenTaskIndex() throws SQLException {
+        assertPlanUses("idx_tasks_open_due_date",
+                "SELECT id, title, due_date, user_id FROM tasks " +
+                "WHERE status <> 'COMPLETED' AND due_date <= DATE '2025-06-30' " +
+                "AND (due_date > DATE '2025-06-01' OR (due_date = DATE '2025-06-01' AND id > 1000)) " +
+                "ORDER BY due_date, id LIMIT 500");
+    }
+
+    @Test
+    void dueDateListingUsesDueDateIndex() throws SQLException {
+        assertPlanUses("idx_tasks_due_date_id",
+                "SELECT * FROM tasks " +
+                "WHERE due_date > DATE '2025-06-01' OR (due_date = DATE '2025-06-01' AND id > 1000) " +
+                "ORDER BY due_date ASC NULLS LAST, id LIMIT 51");
+    }
+
+    @Test
+    void statusListingUsesStatusIndex() throws SQLException {
+        assertPlanUses("idx_tasks_status_id",
+                "SELECT * FROM tasks WHERE status = 'IN_PROGRESS' AND id > 1000 ORDER BY id LIMIT 51");
+    }
+
+    @Test
+    void usersWithTasksUsesUserIndex() throws SQLException {
+        assertPlanUses("idx_tasks_user_id_id",
+                "SELECT t.id, t.title, t.user_id FROM tasks t WHERE t.user_id IN (10, 11, 12, 13, 14) " +
+                "ORDER BY t.user_id, t.id");
+    }
+
+    @Test
+    void userStatusFilterUsesUserStatusIndex() throws SQLException {
+        assertPlanUses("idx_tasks_user_status",
+                "SELECT count(*) FROM tasks WHERE user_id = 42 AND status = 'TODO'");
+    }
+
+    @Test
+    void searchUsesFullTextIndex() throws SQLException {
+        assertPlanUses("idx_tasks_search",
+                "SELECT id, ts_rank(search_vector, q) AS rank " +
+                "FROM tasks CROSS JOIN to_tsquery('english', '1234:*') AS q " +
+                "WHERE search_vector @@ q AND status = 'TODO' ORDER BY rank DESC, id LIMIT 10000");
+    }
+
+    private static void assertPlanUses(String index, String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                plan.add(rs.getString(1));
+            }
+        }
+        String text = String.join("\n", plan);
+        assertThat(text).as("plan for %s", sql).contains(index).doesNotContain("Seq Scan on tasks");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
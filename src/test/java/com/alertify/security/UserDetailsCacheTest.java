@@ -0,0 +1,41 @@
+package com.alertify.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache cache = new UserDetailsCache(new SimpleMeterRegistry(), Duration.ofMinutes(1), 100);
+
+    @Test
+    void loadOverlappingAnEvictIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        UserDetails stale = User.withUsername("alice").password("old-hash").authorities("USER").build();
+        UserDetails fresh = User.withUsername("alice").password("new-hash").authorities("USER").build();
+
+        // The password change commits and evicts while this request is still loading the old row
+        UserDetails served = cache.get("alice", username -> {
+            loads.incrementAndGet();
+            cache.evict(username);
+            return stale;
+        });
+        assertThat(served).isSameAs(stale);
+
+        assertThat(cache.get("alice", username -> {
+            loads.incrementAndGet();
+            return fresh;
+        })).isSameAs(fresh);
+        assertThat(cache.get("alice", username -> {
+            loads.incrementAndGet();
+            return stale;
+        })).isSameAs(fresh);
+        assertThat(loads).hasValue(2);
+    }
+}
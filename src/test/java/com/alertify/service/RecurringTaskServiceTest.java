@@ -0,0 +1,148 @@
+package com.alertify.service;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.RecurringTaskDTO;
+import com.alertify.dto.TaskOccurrenceDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.exceptions.PreconditionFailedException;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.model.User;
+import com.alertify.repository.CancelledOccurrenceRepository;
+import com.alertify.repository.RecurringTaskRepository;
+import com.alertify.repository.TaskOccurrenceRepository;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RecurringTaskServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private RecurringTaskService recurringTaskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RecurringTaskRepository recurringTaskRepository;
+
+    @Autowired
+    private TaskOccurrenceRepository occurrenceRepository;
+
+    @Autowired
+    private CancelledOccurrenceRepository cancelledOccurrenceRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserTaskCountsRepository countsRepository;
+
+    @AfterEach
+    void cleanUp() {
+        occurrenceRepository.deleteAllInBatch();
+        cancelledOccurrenceRepository.deleteAllInBatch();
+        recurringTaskRepository.deleteAllInBatch();
+        outboxRepository.deleteAllInBatch();
+        countsRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void occurrencesAreComputedUntilTheirFirstModification() {
+        User user = userRepository.save(TestEntities.user("standup"));
+        RecurringTaskDTO standup = recurringTaskService.createRecurringTask(new RecurringTaskDTO(null, "standup", null,
+                TaskPriority.MEDIUM, "freq=weekly;byday=mo,we,fr", MONDAY, user.getId(), null, null));
+        assertThat(standup.rule()).isEqualTo("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+
+        List<TaskOccurrenceDTO> week = recurringTaskService.getOccurrences(standup.id(), MONDAY, MONDAY.plusDays(6));
+        assertThat(week).extracting(TaskOccurrenceDTO::occurrenceDate)
+                .containsExactly(MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(4));
+        assertThat(week).noneMatch(TaskOccurrenceDTO::materialized);
+        assertThat(taskRepository.count()).isZero();
+
+        TaskPatchDTO done = new TaskPatchDTO();
+        done.setStatus(TaskStatus.COMPLETED);
+        Long taskId = recurringTaskService.patchOccurrence(standup.id(), MONDAY.plusDays(2), null, done);
+        // A second modification patches the stored task instead of creating another
+        TaskPatchDTO renamed = new TaskPatchDTO();
+        renamed.setTitle("standup (remote)");
+        assertThat(recurringTaskService.patchOccurrence(standup.id(), MONDAY.plusDays(2), null, renamed)).isEqualTo(taskId);
+
+        List<TaskOccurrenceDTO> agenda = recurringTaskService.getUserOccurrences(user.getId(), MONDAY, MONDAY.plusDays(6));
+        TaskOccurrenceDTO wednesday = agenda.get(1);
+        assertThat(wednesday.materialized()).isTrue();
+        assertThat(wednesday.task().id()).isEqualTo(taskId);
+        assertThat(wednesday.task().status()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(wednesday.task().title()).isEqualTo("standup (remote)");
+        assertThat(agenda.get(0).task().status()).isEqualTo(TaskStatus.TODO);
+        assertThat(taskRepository.count()).isEqualTo(1);
+        assertThat(taskStatsService.getUserTaskStats(user.getId()).byStatus()).containsEntry(TaskStatus.COMPLETED, 1L);
+
+        assertThatThrownBy(() -> recurringTaskService.patchOccurrence(standup.id(), MONDAY.plusDays(1), null, done))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> recurringTaskService.patchOccurrence(standup.id(), MONDAY, 3L, done))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        // Stopping the series keeps what was already done
+        recurringTaskService.deleteRecurringTask(standup.id());
+        assertThat(taskRepository.findById(taskId)).isPresent();
+        assertThat(occurrenceRepository.count()).isZero();
+    }
+
+    @Test
+    void deletedOccurrencesAreNotComputedAgain() {
+        User user = userRepository.save(TestEntities.user("gym"));
+        RecurringTaskDTO gym = recurringTaskService.createRecurringTask(new RecurringTaskDTO(null, "gym", null,
+                TaskPriority.LOW, "FREQ=DAILY", MONDAY, user.getId(), null, null));
+        TaskPatchDTO moved = new TaskPatchDTO();
+        moved.setTitle("gym (evening)");
+        Long tuesdayTask = recurringTaskService.patchOccurrence(gym.id(), MONDAY.plusDays(1), null, moved);
+
+        // Deleting the stored task through the task API, and a never-modified occurrence through the series
+        taskService.deleteTask(tuesdayTask);
+        recurringTaskService.deleteOccurrence(gym.id(), MONDAY.plusDays(3));
+
+        assertThat(recurringTaskService.getOccurrences(gym.id(), MONDAY, MONDAY.plusDays(4)))
+                .extracting(TaskOccurrenceDTO::occurrenceDate)
+                .containsExactly(MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(4));
+        assertThat(recurringTaskService.getUserOccurrences(user.getId(), MONDAY, MONDAY.plusDays(4))).hasSize(3);
+        assertThat(taskRepository.count()).isZero();
+
+        TaskPatchDTO done = new TaskPatchDTO();
+        done.setStatus(TaskStatus.COMPLETED);
+        assertThatThrownBy(() -> recurringTaskService.patchOccurrence(gym.id(), MONDAY.plusDays(1), null, done))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> recurringTaskService.deleteOccurrence(gym.id(), MONDAY.plusDays(3)))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // The cancelled dates go with the series
+        recurringTaskService.deleteRecurringTask(gym.id());
+        assertThat(cancelledOccurrenceRepository.count()).isZero();
+    }
+}
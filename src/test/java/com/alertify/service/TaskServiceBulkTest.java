@@ -0,0 +1,70 @@
+package com.alertify.service;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.BulkItemResult;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.User;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskServiceBulkTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserTaskCountsRepository countsRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        countsRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void invalidItemsFailAloneInBulkCreateAndUpdate() {
+        User user = userRepository.save(TestEntities.user("bulk"));
+        List<BulkItemResult<TaskDTO>> created = taskService.bulkCreateTasks(Arrays.asList(
+                task(null, "plan", user), null, task(null, " ", user), task(null, "x".repeat(256), user)));
+
+        assertThat(created).extracting(BulkItemResult::success).containsExactly(true, false, false, false);
+        assertThat(created.get(1).error()).isEqualTo("Task is required");
+        assertThat(taskRepository.count()).isEqualTo(1);
+
+        Long id = created.get(0).data().id();
+        List<BulkItemResult<TaskDTO>> updated = taskService.bulkUpdateTasks(Arrays.asList(
+                task(id, "plan v2", user), null, task(id, null, user)));
+
+        assertThat(updated).extracting(BulkItemResult::success).containsExactly(true, false, false);
+        assertThat(taskRepository.findById(id).orElseThrow().getTitle()).isEqualTo("plan v2");
+    }
+
+    private static TaskDTO task(Long id, String title, User user) {
+        return new TaskDTO(id, title, null, TaskPriority.LOW, TaskStatus.TODO, null, user.getId(), null, null);
+    }
+}
@@ -0,0 +1,81 @@
+package com.alertify.service;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.CursorPage;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskFilter;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskSortKey;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskServicePageTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void pagesWalkEqualAndNullDueDatesWithoutGapsOrDuplicates() {
+        User user = userRepository.save(TestEntities.user("pager"));
+        List<Task> tasks = new ArrayList<>();
+        // Runs of equal dates and nulls that straddle page boundaries at any page size
+        for (LocalDate dueDate : new LocalDate[]{null, MONDAY.plusDays(1), MONDAY, null, MONDAY, MONDAY,
+                MONDAY.plusDays(1), null, MONDAY.minusDays(1), null, MONDAY}) {
+            tasks.add(taskRepository.save(new Task(null, "task", null, TaskPriority.LOW, TaskStatus.TODO, dueDate,
+                    user, null, null)));
+        }
+        TaskFilter filter = new TaskFilter(null, null, user.getId(), null, null);
+
+        List<Long> byDueDate = tasks.stream()
+                .sorted(Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList();
+        List<Long> byId = tasks.stream().map(Task::getId).sorted().toList();
+        for (int size = 1; size <= tasks.size(); size++) {
+            assertThat(walk(filter, TaskSortKey.DUE_DATE, size)).as("due date, size %d", size).isEqualTo(byDueDate);
+            assertThat(walk(filter, TaskSortKey.ID, size)).as("id, size %d", size).isEqualTo(byId);
+        }
+    }
+
+    private List<Long> walk(TaskFilter filter, TaskSortKey sortKey, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskDTO> page = taskService.getAllTasks(filter, sortKey, cursor, size);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(size);
+            page.items().forEach(task -> ids.add(task.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
@@ -0,0 +1,109 @@
+package com.alertify.service;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.enums.TaskStatus;
+import com.alertify.exceptions.PreconditionFailedException;
+import com.alertify.exceptions.ResourceNotFoundException;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TaskServicePatchTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void patchWritesOnlySuppliedFieldsWithoutReadingFirst() {
+        Task task = seedTask();
+        // Status, priority and owner patches also take a locked read to keep the per-user counters current
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setDueDate(LocalDate.now().plusDays(10));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Long version = taskService.patchTask(task.getId(), task.getVersion(), patch);
+
+        // No read of the task: the conditional UPDATE plus the outbox INSERT (and at most one sequence fetch)
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(version).isEqualTo(task.getVersion() + 1);
+        TaskDTO patched = taskService.getTaskById(task.getId());
+        assertThat(patched.dueDate()).isEqualTo(LocalDate.now().plusDays(10));
+        assertThat(patched.status()).isEqualTo(TaskStatus.TODO);
+        assertThat(patched.title()).isEqualTo("write report");
+        assertThat(patched.description()).isEqualTo("quarterly");
+        assertThat(patched.version()).isEqualTo(version);
+    }
+
+    @Test
+    void patchWithStaleVersionFailsWithoutWriting() {
+        Task task = seedTask();
+        TaskPatchDTO first = new TaskPatchDTO();
+        first.setTitle("first editor");
+        taskService.patchTask(task.getId(), task.getVersion(), first);
+
+        TaskPatchDTO second = new TaskPatchDTO();
+        second.setTitle("second editor");
+        assertThatThrownBy(() -> taskService.patchTask(task.getId(), task.getVersion(), second))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        assertThat(taskService.getTaskById(task.getId()).title()).isEqualTo("first editor");
+    }
+
+    @Test
+    void patchCanClearNullableFields() {
+        Task task = seedTask();
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setDescription(null);
+
+        taskService.patchTask(task.getId(), task.getVersion(), patch);
+
+        assertThat(taskService.getTaskById(task.getId()).description()).isNull();
+    }
+
+    @Test
+    void patchOfMissingTaskIsNotFound() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setTitle("nothing here");
+
+        assertThatThrownBy(() -> taskService.patchTask(Long.MAX_VALUE, 0L, patch))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Task seedTask() {
+        User user = userRepository.save(TestEntities.user("editor"));
+        return taskRepository.save(TestEntities.task(user));
+    }
+}
@@ -0,0 +1,32 @@
+package com.alertify.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskServiceSearchQueryTest {
+
+    @Test
+    void everyWordMustMatchAndTheLastOneAsAPrefix() {
+        assertThat(TaskService.toPrefixTsQuery("Quarterly  Rep")).isEqualTo("quarterly & rep:*");
+        assertThat(TaskService.toPrefixTsQuery("réunion 2026")).isEqualTo("réunion & 2026:*");
+    }
+
+    @Test
+    void tsqueryOperatorsInTheInputAreDropped() {
+        assertThat(TaskService.toPrefixTsQuery("a & !b | (c:*) <-> 'd'")).isEqualTo("a & b & c & d:*");
+    }
+
+    @Test
+    void onlyTheFirstEightWordsAreKept() {
+        assertThat(TaskService.toPrefixTsQuery("one two three four five six seven eight nine ten"))
+                .isEqualTo("one & two & three & four & five & six & seven & eight:*");
+    }
+
+    @Test
+    void textWithoutLettersOrDigitsIsRejected() {
+        assertThatThrownBy(() -> TaskService.toPrefixTsQuery(" &|! ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskService.toPrefixTsQuery(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.alertify.service;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.CursorPage;
+import com.alertify.dto.UserWithTasksDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+import com.alertify.model.User;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserServiceQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getUsersWithTasksIssuesConstantStatementCount() {
+        seedUsers(0, 5, 3);
+        long fewUsers = countStatements();
+
+        seedUsers(5, 45, 3);
+        long manyUsers = countStatements();
+
+        assertThat(fewUsers).isEqualTo(2);
+        assertThat(manyUsers).isEqualTo(fewUsers);
+    }
+
+    @Test
+    void getUsersWithTasksPaginatesByUser() {
+        seedUsers(0, 5, 2);
+
+        CursorPage<UserWithTasksDTO> first = userService.getUsersWithTasks(null, 3);
+        assertThat(first.items()).hasSize(3);
+        assertThat(first.items()).allSatisfy(user -> assertThat(user.tasks()).hasSize(2));
+        assertThat(first.nextCursor()).isNotNull();
+
+        CursorPage<UserWithTasksDTO> second = userService.getUsersWithTasks(first.nextCursor(), 3);
+        assertThat(second.items()).hasSize(2);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    private long countStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CursorPage<UserWithTasksDTO> page = userService.getUsersWithTasks(null, 100);
+        assertThat(page.items()).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedUsers(int offset, int count, int tasksPerUser) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = offset; i < offset + count; i++) {
+            User user = userRepository.save(TestEntities.user("user" + i));
+            for (int j = 0; j < tasksPerUser; j++) {
+                tasks.add(new Task(null, "task " + i + "-" + j, null, TaskPriority.LOW, TaskStatus.TODO,
+                        LocalDate.now().plusDays(j), user, null, null));
+            }
+        }
+        taskRepository.saveAll(tasks);
+    }
+}
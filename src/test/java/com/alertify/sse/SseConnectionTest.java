@@ -0,0 +1,110 @@
+package com.alertify.sse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SseConnectionTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowConsumerGetsCoalescedEventsAndLosesOnlyTheOldest() throws Exception {
+        GatedEmitter emitter = new GatedEmitter();
+        SseConnection<String> connection = new SseConnection<>(emitter, 3, SseConnection.OverflowPolicy.DROP_OLDEST,
+                event -> event.substring(0, 1), event -> SseEmitter.event().data(event), executor);
+
+        connection.offer("a1");
+        emitter.awaitFirstSend();
+        // The writer is stuck on a1; these queue up behind it without blocking the producer
+        connection.offer("b1");
+        connection.offer("c1");
+        connection.offer("b2");
+        connection.offer("d1");
+        connection.offer("e1");
+        emitter.open();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.sent.size() == 4);
+        assertThat(emitter.sent).containsExactly("a1", "c1", "d1", "e1");
+        assertThat(connection.getDropped()).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectPolicyClosesTheConnectionOnOverflow() throws Exception {
+        GatedEmitter emitter = new GatedEmitter();
+        SseConnection<String> connection = new SseConnection<>(emitter, 1, SseConnection.OverflowPolicy.DISCONNECT,
+                null, event -> SseEmitter.event().data(event), executor);
+
+        connection.offer("1");
+        emitter.awaitFirstSend();
+        assertThat(connection.offer("2")).isTrue();
+        assertThat(connection.offer("3")).isFalse();
+        assertThat(connection.isOpen()).isFalse();
+        emitter.open();
+    }
+
+    @Test
+    void idleConnectionGetsHeartbeat() {
+        GatedEmitter emitter = new GatedEmitter();
+        emitter.open();
+        SseConnection<String> connection = new SseConnection<>(emitter, 4, SseConnection.OverflowPolicy.DROP_OLDEST,
+                null, event -> SseEmitter.event().data(event), executor);
+
+        connection.heartbeatIfIdle(Duration.ZERO);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.comments.size() == 1);
+        assertThat(emitter.sent).isEmpty();
+    }
+
+    // Records what would be written and can hold the writer to simulate a client that stopped reading
+    private static class GatedEmitter extends SseEmitter {
+        private final CountDownLatch firstSend = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final List<String> comments = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            firstSend.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .reduce("", String::concat);
+            if (text.startsWith(":")) {
+                comments.add(text);
+            } else {
+                sent.add(text.replace("data:", "").trim());
+            }
+        }
+
+        void awaitFirstSend() throws InterruptedException {
+            firstSend.await(5, TimeUnit.SECONDS);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.alertify.stats;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.TaskAssignmentDTO;
+import com.alertify.dto.TaskDTO;
+import com.alertify.dto.TaskPatchDTO;
+import com.alertify.dto.UserTaskStatsDTO;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.User;
+import com.alertify.model.UserTaskCounts;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import com.alertify.service.TaskService;
+import com.alertify.service.TaskStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskCountersTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskCountReconciler reconciler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserTaskCountsRepository countsRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        countsRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void countersFollowEveryKindOfTaskWrite() {
+        User alice = userRepository.save(TestEntities.user("alice"));
+        User bob = userRepository.save(TestEntities.user("bob"));
+        TaskDTO report = taskService.createTask(task("report", TaskPriority.HIGH, LocalDate.now().minusDays(2), alice));
+        List<TaskDTO> created = taskService.bulkCreateTasks(List.of(
+                task("review", TaskPriority.LOW, LocalDate.now().plusDays(2), alice),
+                task("deploy", TaskPriority.LOW, null, alice))).stream().map(result -> result.data()).toList();
+
+        TaskPatchDTO complete = new TaskPatchDTO();
+        complete.setStatus(TaskStatus.COMPLETED);
+        taskService.patchTask(created.get(0).id(), created.get(0).version(), complete);
+        taskService.updateTask(report.id(), new TaskDTO(null, "report", null, TaskPriority.MEDIUM,
+                TaskStatus.IN_PROGRESS, report.dueDate(), null, null, null));
+        taskService.bulkAssignTasks(List.of(new TaskAssignmentDTO(created.get(1).id(), bob.getId())));
+
+        assertThat(taskStatsService.getUserTaskStats(alice.getId())).isEqualTo(new UserTaskStatsDTO(alice.getId(), 2,
+                Map.of(TaskStatus.TODO, 0L, TaskStatus.IN_PROGRESS, 1L, TaskStatus.COMPLETED, 1L),
+                Map.of(TaskPriority.LOW, 1L, TaskPriority.MEDIUM, 1L, TaskPriority.HIGH, 0L), 1));
+        assertThat(taskStatsService.getUserTaskStats(bob.getId()).byStatus()).containsEntry(TaskStatus.TODO, 1L);
+
+        taskService.deleteTask(created.get(1).id());
+        assertThat(taskStatsService.getUserTaskStats(bob.getId()).total()).isZero();
+        assertThat(reconciler.reconcile().mismatched()).isZero();
+    }
+
+    @Test
+    void reconcilerRepairsDriftedCounters() {
+        User carol = userRepository.save(TestEntities.user("carol"));
+        taskService.createTask(task("plan", TaskPriority.HIGH, null, carol));
+        UserTaskCounts counts = countsRepository.findById(carol.getId()).orElseThrow();
+        counts.setTodo(42);
+        countsRepository.save(counts);
+
+        TaskCountReconciler.Report report = reconciler.reconcile();
+
+        assertThat(report.mismatched()).isEqualTo(1);
+        assertThat(report.repaired()).isTrue();
+        assertThat(taskStatsService.getUserTaskStats(carol.getId()).byStatus()).containsEntry(TaskStatus.TODO, 1L);
+        assertThat(reconciler.reconcile().mismatched()).isZero();
+    }
+
+    @Test
+    void reconcilerRecreatesMissingCounterRows() {
+        User dave = userRepository.save(TestEntities.user("dave"));
+        taskService.createTask(task("plan", TaskPriority.LOW, null, dave));
+        countsRepository.deleteById(dave.getId());
+
+        assertThat(reconciler.reconcile().mismatched()).isEqualTo(1);
+
+        assertThat(countsRepository.findById(dave.getId()).orElseThrow().getTodo()).isEqualTo(1);
+        assertThat(reconciler.reconcile().mismatched()).isZero();
+    }
+
+    private static TaskDTO task(String title, TaskPriority priority, LocalDate dueDate, User user) {
+        return new TaskDTO(null, title, null, priority, TaskStatus.TODO, dueDate, user.getId(), null, null);
+    }
+}
@@ -0,0 +1,52 @@
+package com.alertify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    // A Wednesday
+    private static final LocalDate START = LocalDate.of(2026, 1, 7);
+
+    @Test
+    void weeklyByDayHonoursIntervalCountAndTheStartWeek() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=TH,MO;COUNT=5");
+
+        assertThat(rule.format()).isEqualTo("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=5");
+        // Monday of the first week precedes the start and does not count
+        assertThat(rule.occurrences(START, START, START.plusYears(1))).containsExactly(
+                LocalDate.of(2026, 1, 8), LocalDate.of(2026, 1, 19), LocalDate.of(2026, 1, 22),
+                LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 5));
+        // A window far from the start still sees the same ordinals
+        assertThat(rule.occurrences(START, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 12, 31))).containsExactly(
+                LocalDate.of(2026, 1, 22), LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 5));
+    }
+
+    @Test
+    void dailyAndMonthlyJumpStraightToTheWindow() {
+        RecurrenceRule daily = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3;UNTIL=20300101");
+        assertThat(daily.occurrences(START, LocalDate.of(2029, 12, 28), LocalDate.of(2030, 1, 10)))
+                .containsExactly(LocalDate.of(2029, 12, 29), LocalDate.of(2030, 1, 1));
+        assertThat(daily.occursOn(START, START.plusDays(999))).isTrue();
+        assertThat(daily.occursOn(START, START.plusDays(1000))).isFalse();
+
+        RecurrenceRule monthly = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3");
+        LocalDate endOfMonth = LocalDate.of(2026, 1, 31);
+        assertThat(monthly.occurrences(endOfMonth, endOfMonth, endOfMonth.plusYears(1)))
+                .isEqualTo(List.of(endOfMonth, LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31)));
+    }
+
+    @Test
+    void rejectsUnsupportedRules() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=HOURLY")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20260101"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;BYSETPOS=1")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
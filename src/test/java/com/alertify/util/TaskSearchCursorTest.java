@@ -0,0 +1,34 @@
+package com.alertify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskSearchCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSameRankAndId() {
+        for (float rank : new float[]{0f, 0.0607927f, 1e-20f, Float.MIN_VALUE, 1f}) {
+            TaskSearchCursor decoded = TaskSearchCursor.decode(new TaskSearchCursor(rank, 42L).encode());
+
+            // Bit-exact, or the keyset comparison would skip or repeat rows at the page boundary
+            assertThat(Float.floatToIntBits(decoded.getRank())).isEqualTo(Float.floatToIntBits(rank));
+            assertThat(decoded.getId()).isEqualTo(42L);
+        }
+        assertThat(new TaskSearchCursor(0.5f, 7L).encode()).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String twoSeparators = Base64.getUrlEncoder().encodeToString("0.5|1|2".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().encodeToString("high|1".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> TaskSearchCursor.decode(twoSeparators)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskSearchCursor.decode(notANumber)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskSearchCursor.decode("***")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
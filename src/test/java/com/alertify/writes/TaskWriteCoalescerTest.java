@@ -0,0 +1,220 @@
+package com.alertify.writes;
+
+import com.alertify.TestEntities;
+import com.alertify.dto.TaskDTO;
+import com.alertify.enums.TaskChangeType;
+import com.alertify.enums.TaskPriority;
+import com.alertify.enums.TaskStatus;
+import com.alertify.model.Task;
+import com.alertify.model.TaskOutboxEvent;
+import com.alertify.model.User;
+import com.alertify.repository.TaskOutboxRepository;
+import com.alertify.repository.TaskRepository;
+import com.alertify.repository.UserRepository;
+import com.alertify.repository.UserTaskCountsRepository;
+import com.alertify.service.TaskService;
+import com.alertify.service.TaskStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskWriteCoalescerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskWriteCoalescer coalescer;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserTaskCountsRepository countsRepository;
+
+    @AfterEach
+    void cleanUp() {
+        coalescer.flushAll();
+        outboxRepository.deleteAllInBatch();
+        countsRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void queuedWritesToOneTaskAreAppliedAsOneUpdate() throws Exception {
+        User alice = userRepository.save(TestEntities.user("alice"));
+        User bob = userRepository.save(TestEntities.user("bob"));
+        TaskDTO task = seedTask(alice);
+
+        String location = mockMvc.perform(put("/api/v1/tasks/{id}", task.id())
+                        .header("Prefer", "respond-async")
+                        .contentType("application/json")
+                        .content("{\"title\":\"draft\",\"status\":\"IN_PROGRESS\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.data.status").value("PENDING"))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        mockMvc.perform(put("/api/v1/tasks/{id}", task.id())
+                        .header("Prefer", "respond-async")
+                        .contentType("application/json")
+                        .content("{\"title\":\"final\",\"status\":\"COMPLETED\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(put("/api/v1/tasks/{taskId}/assign/{userId}", task.id(), bob.getId())
+                        .header("Prefer", "respond-async"))
+                .andExpect(status().isAccepted());
+        assertThat(taskRepository.findById(task.id()).orElseThrow().getTitle()).isEqualTo("report");
+
+        coalescer.flushAll();
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.version").value(task.version() + 1));
+        Task written = taskRepository.findById(task.id()).orElseThrow();
+        assertThat(written.getTitle()).isEqualTo("final");
+        assertThat(written.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(written.getUser().getId()).isEqualTo(bob.getId());
+        assertThat(written.getVersion()).isEqualTo(task.version() + 1);
+
+        assertThat(outboxRepository.findAll()).extracting(TaskOutboxEvent::getType).containsExactly(TaskChangeType.CREATED, TaskChangeType.UPDATED);
+        assertThat(taskStatsService.getUserTaskStats(alice.getId()).total()).isZero();
+        assertThat(taskStatsService.getUserTaskStats(bob.getId()).byStatus()).containsEntry(TaskStatus.COMPLETED, 1L);
+    }
+
+    @Test
+    void invalidOrUnknownWriteIsRejectedAtOnceAndSynchronousWriteLandsAfterQueuedOnes() throws Exception {
+        TaskDTO task = seedTask(userRepository.save(TestEntities.user("carol")));
+
+        mockMvc.perform(put("/api/v1/tasks/{taskId}/assign/{userId}", task.id(), -1L)
+                        .header("Prefer", "respond-async"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/v1/tasks/{id}", -1L)
+                        .header("Prefer", "respond-async")
+                        .contentType("application/json")
+                        .content("{\"title\":\"nowhere\"}"))
+                .andExpect(status().isNotFound());
+        // Invalid fields are answered at once instead of failing the flush batch they would have joined
+        for (String title : new String[]{" ", "x".repeat(256)}) {
+            mockMvc.perform(put("/api/v1/tasks/{id}", task.id())
+                            .header("Prefer", "respond-async")
+                            .contentType("application/json")
+                            .content("{\"title\":\"" + title + "\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(put("/api/v1/tasks/{id}", task.id())
+                        .header("Prefer", "respond-async")
+                        .contentType("application/json")
+                        .content("{\"title\":\"queued\"}"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(put("/api/v1/tasks/{id}", task.id())
+                        .contentType("application/json")
+                        .content("{\"title\":\"direct\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(taskRepository.findById(task.id()).orElseThrow().getTitle()).isEqualTo("direct");
+        assertThat(taskRepository.findById(task.id()).orElseThrow().getVersion()).isEqualTo(task.version() + 2);
+        mockMvc.perform(get("/api/v1/tasks/operations/{id}", "unknown")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void waitTooLongToParseIsCappedAtMaxWait() throws Exception {
+        TaskDTO task = seedTask(userRepository.save(TestEntities.user("dana")));
+        // Stands in for the scheduled flush, which is off in tests
+        AtomicBoolean done = new AtomicBoolean();
+        Thread flusher = Thread.ofVirtual().start(() -> {
+            while (!done.get()) {
+                coalescer.flushAll();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            }
+        });
+        try {
+            mockMvc.perform(put("/api/v1/tasks/{id}", task.id())
+                            .header("Prefer", "respond-async, wait=99999999999999999999999")
+                            .contentType("application/json")
+                            .content("{\"title\":\"waited\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.title").value("waited"));
+        } finally {
+            done.set(true);
+            flusher.join();
+        }
+    }
+
+    @Test
+    void failedMergedWriteIsSplitSoOnlyTheBadWriteFails() throws Exception {
+        User erin = userRepository.save(TestEntities.user("erin"));
+        User frank = userRepository.save(TestEntities.user("frank"));
+        TaskDTO task = seedTask(erin);
+
+        String first = submitUpdate(task.id(), "{\"title\":\"first\"}");
+        String assign = mockMvc.perform(put("/api/v1/tasks/{taskId}/assign/{userId}", task.id(), frank.getId())
+                        .header("Prefer", "respond-async"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        String third = submitUpdate(task.id(), "{\"title\":\"third\",\"status\":\"IN_PROGRESS\"}");
+        // Valid when accepted, gone by the flush
+        userRepository.delete(frank);
+
+        coalescer.flushAll();
+
+        mockMvc.perform(get(first))
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.version").value(task.version() + 1));
+        mockMvc.perform(get(assign))
+                .andExpect(jsonPath("$.data.status").value("FAILED"))
+                .andExpect(jsonPath("$.data.error").value("User not found with id " + frank.getId()));
+        mockMvc.perform(get(third))
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.version").value(task.version() + 2));
+        Task written = taskRepository.findById(task.id()).orElseThrow();
+        assertThat(written.getTitle()).isEqualTo("third");
+        assertThat(written.getUser().getId()).isEqualTo(erin.getId());
+        assertThat(taskStatsService.getUserTaskStats(erin.getId()).byStatus()).containsEntry(TaskStatus.IN_PROGRESS, 1L);
+    }
+
+    private String submitUpdate(Long taskId, String body) throws Exception {
+        return mockMvc.perform(put("/api/v1/tasks/{id}", taskId)
+                        .header("Prefer", "respond-async")
+                        .contentType("application/json")
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+    }
+
+    private TaskDTO seedTask(User user) {
+        return taskService.createTask(new TaskDTO(null, "report", null, TaskPriority.MEDIUM, TaskStatus.TODO,
+                LocalDate.now().plusDays(3), user.getId(), null, null));
+    }
+}